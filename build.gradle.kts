@@ -3,6 +3,7 @@ import de.florianmichael.baseproject.*
 plugins {
     `java-library`
     id("de.florianmichael.baseproject.BaseProject")
+    id("me.champeau.jmh")
 }
 
 setupProject()
@@ -14,4 +15,20 @@ repositories {
 
 dependencies {
     compileOnly("com.google.code.gson:gson:2.13.2")
+
+    jmh("com.google.code.gson:gson:2.13.2")
+
+    testImplementation("com.google.code.gson:gson:2.13.2")
+    testImplementation(platform("org.junit:junit-bom:5.13.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc") // Report the allocation rate alongside the time
 }
@@ -6,6 +6,7 @@ pluginManagement {
 
     plugins {
         id("de.florianmichael.baseproject.BaseProject") version "1.2.8"
+        id("me.champeau.jmh") version "0.7.3"
     }
 }
 
@@ -0,0 +1,62 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of a check (submit, single tick) against a stub requester, so only the client side is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckHost4JBenchmark {
+
+    @Param({"5", "40"})
+    public int nodes;
+
+    private CheckHost4J checkHost;
+
+    @Setup
+    public void setup() {
+        checkHost = new CheckHost4J(Payloads.requester(Payloads.servers(ResultType.PING, nodes), Payloads.result(ResultType.PING, nodes)));
+    }
+
+    @Benchmark
+    public ResultNode<PingResult> ping() throws Throwable {
+        final ResultNode<PingResult> node = checkHost.ping("example.com", nodes);
+        node.tickResults();
+        return node;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ResultNode<PingResult> pingAsync() throws Exception {
+        return checkHost.pingAsync("example.com", nodes).thenCompose(ResultNode::tickResultsAsync).get();
+    }
+
+}
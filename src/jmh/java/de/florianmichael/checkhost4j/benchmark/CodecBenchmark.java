@@ -0,0 +1,89 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.codec.ResultDecoder;
+import de.florianmichael.checkhost4j.codec.ResultEncoder;
+import de.florianmichael.checkhost4j.codec.ResultSnapshot;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.request.IRequester;
+import de.florianmichael.checkhost4j.util.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static de.florianmichael.checkhost4j.util.JsonParser.GSON;
+
+/**
+ * Encoding a whole {@link ResultNode} snapshot using the {@link ResultEncoder} compared to Gson, and decoding it again
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"PING", "HTTP", "TCP", "UDP", "DNS"})
+    public ResultType type;
+
+    @Param({"5", "40"})
+    public int nodes;
+
+    private ResultSnapshot snapshot;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Throwable {
+        final IRequester requester = Payloads.requester(Payloads.servers(type, nodes), Payloads.result(type, nodes));
+        final Pair<String, List<ServerNode>> servers = new CheckHost4J(requester).getServers(type, "example.com", nodes);
+        final ResultNode<?> node = new ResultNode<>(requester, type, "example.com", servers.getKey(), servers.getValue());
+        node.tickResults();
+        snapshot = ResultSnapshot.of(node);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ResultEncoder encoder = new ResultEncoder(out)) {
+            encoder.writeSnapshot(snapshot);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public ResultSnapshot decode() throws Exception {
+        try (ResultDecoder decoder = new ResultDecoder(new ByteArrayInputStream(encoded))) {
+            return decoder.readSnapshot();
+        }
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return GSON.toJson(snapshot.results.values());
+    }
+
+}
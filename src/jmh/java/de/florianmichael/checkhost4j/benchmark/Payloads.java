@@ -0,0 +1,86 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.request.IRequester;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Access to the check-host payloads in {@code src/jmh/resources/payloads}, every payload exists for 5 and 40 nodes
+ */
+public class Payloads {
+
+    public static byte[] servers(final ResultType type, final int nodes) {
+        return load("check-" + type.identifier() + "-" + nodes + ".json");
+    }
+
+    public static byte[] result(final ResultType type, final int nodes) {
+        return load("check-result-" + type.identifier() + "-" + nodes + ".json");
+    }
+
+    public static String string(final byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stub requester answering submit requests with the servers payload and poll requests with the result payload
+     */
+    public static IRequester requester(final byte[] servers, final byte[] result) {
+        return new IRequester() {
+            @Override
+            public String get(final URI target) {
+                return string(select(target));
+            }
+
+            @Override
+            public InputStream getStream(final URI target) {
+                return new ByteArrayInputStream(select(target));
+            }
+
+            private byte[] select(final URI target) {
+                return target.getPath().startsWith("/check-result") ? result : servers;
+            }
+        };
+    }
+
+    private static byte[] load(final String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload: " + name);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
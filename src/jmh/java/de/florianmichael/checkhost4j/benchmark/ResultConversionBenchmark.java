@@ -0,0 +1,88 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.florianmichael.checkhost4j.model.ResultType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static de.florianmichael.checkhost4j.util.JsonParser.*;
+
+/**
+ * Converting a whole check-result response into result objects, once by building a JSON tree and using
+ * {@link ResultType#convert(JsonElement)} and once by using the streaming {@link ResultType#read(JsonReader)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultConversionBenchmark {
+
+    @Param({"PING", "HTTP", "TCP", "UDP", "DNS"})
+    public ResultType type;
+
+    @Param({"5", "40"})
+    public int nodes;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        payload = Payloads.result(type, nodes);
+    }
+
+    @Benchmark
+    public void tree(final Blackhole blackhole) throws Exception {
+        final JsonObject response = GSON.fromJson(Payloads.string(payload), JsonObject.class);
+        for (Map.Entry<String, JsonElement> entry : response.entrySet()) {
+            if (entry.getValue().isJsonArray()) {
+                blackhole.consume(type.convert(entry.getValue().getAsJsonArray().get(0)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(final Blackhole blackhole) throws Exception {
+        try (JsonReader reader = newReader(new ByteArrayInputStream(payload))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                reader.nextName();
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                blackhole.consume(type.read(reader));
+                skipRemaining(reader);
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+    }
+
+}
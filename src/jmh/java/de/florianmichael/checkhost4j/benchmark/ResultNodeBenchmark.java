@@ -0,0 +1,65 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.request.IRequester;
+import de.florianmichael.checkhost4j.util.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single {@link ResultNode#tickResults()} against a stub requester. A new node is created per invocation, otherwise
+ * all nodes would be final after the first tick and following ticks wouldn't parse anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultNodeBenchmark {
+
+    @Param({"PING", "HTTP", "TCP", "UDP", "DNS"})
+    public ResultType type;
+
+    @Param({"5", "40"})
+    public int nodes;
+
+    private IRequester requester;
+    private Pair<String, List<ServerNode>> servers;
+
+    @Setup
+    public void setup() throws Throwable {
+        requester = Payloads.requester(Payloads.servers(type, nodes), Payloads.result(type, nodes));
+        servers = new CheckHost4J(requester).getServers(type, "example.com", nodes);
+    }
+
+    @Benchmark
+    public ResultNode<?> tickResults() throws Exception {
+        final ResultNode<?> node = new ResultNode<>(requester, type, "example.com", servers.getKey(), servers.getValue());
+        node.tickResults();
+        return node;
+    }
+
+}
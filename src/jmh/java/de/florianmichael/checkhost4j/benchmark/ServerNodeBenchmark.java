@@ -0,0 +1,96 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.model.ServerNodeCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static de.florianmichael.checkhost4j.util.JsonParser.*;
+
+/**
+ * Parsing the nodes object of a check-* response: tree based, streaming and streaming through the {@link ServerNodeCache}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerNodeBenchmark {
+
+    @Param({"5", "40"})
+    public int nodes;
+
+    private byte[] payload;
+    private ServerNodeCache cache;
+
+    @Setup
+    public void setup() {
+        payload = Payloads.servers(ResultType.PING, nodes);
+        cache = new ServerNodeCache(ServerNodeCache.DEFAULT_TTL);
+    }
+
+    @Benchmark
+    public void tree(final Blackhole blackhole) {
+        final JsonObject response = GSON.fromJson(Payloads.string(payload), JsonObject.class);
+        for (Map.Entry<String, JsonElement> entry : getObject(response, "nodes").entrySet()) {
+            blackhole.consume(ServerNode.of(entry.getKey(), entry.getValue().getAsJsonArray()));
+        }
+    }
+
+    @Benchmark
+    public void streaming(final Blackhole blackhole) throws IOException {
+        read(blackhole, null);
+    }
+
+    @Benchmark
+    public void streamingCached(final Blackhole blackhole) throws IOException {
+        read(blackhole, cache);
+    }
+
+    private void read(final Blackhole blackhole, final ServerNodeCache cache) throws IOException {
+        try (JsonReader reader = newReader(new ByteArrayInputStream(payload))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("nodes")) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    final String name = reader.nextName();
+                    blackhole.consume(cache == null ? ServerNode.read(name, reader) : cache.read(name, reader));
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        }
+    }
+
+}
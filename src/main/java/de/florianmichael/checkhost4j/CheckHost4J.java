@@ -17,21 +17,36 @@
 
 package de.florianmichael.checkhost4j;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.florianmichael.checkhost4j.batch.BatchHandle;
+import de.florianmichael.checkhost4j.batch.CheckCoalescer;
+import de.florianmichael.checkhost4j.batch.CheckJob;
+import de.florianmichael.checkhost4j.flow.ResultPublisher;
+import de.florianmichael.checkhost4j.model.Result;
 import de.florianmichael.checkhost4j.model.ResultNode;
 import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.model.ServerNodeCache;
 import de.florianmichael.checkhost4j.model.ResultType;
 import de.florianmichael.checkhost4j.model.result.*;
+import de.florianmichael.checkhost4j.poll.PollScheduler;
+import de.florianmichael.checkhost4j.poll.PollStrategy;
+import de.florianmichael.checkhost4j.request.AsyncRequester;
+import de.florianmichael.checkhost4j.request.IAsyncRequester;
 import de.florianmichael.checkhost4j.request.IRequester;
 import de.florianmichael.checkhost4j.request.JavaRequester;
+import de.florianmichael.checkhost4j.select.NodeHistory;
+import de.florianmichael.checkhost4j.select.NodeSelector;
 import de.florianmichael.checkhost4j.util.CHRequests;
 import de.florianmichael.checkhost4j.util.Pair;
+import de.florianmichael.checkhost4j.util.TaskScope;
+import de.florianmichael.checkhost4j.util.VirtualThreads;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
@@ -39,15 +54,52 @@ import static de.florianmichael.checkhost4j.util.JsonParser.*;
  * The main class to interact with the CheckHost4J API. You can either use {@link #getServers(ResultType, String, int)} to get a list of servers
  * and create the {@link ResultNode} yourself or use the convenience methods {@link #ping(String, int)}, {@link #http(String, int)}, {@link #tcpPort(String, int)},
  * {@link #udpPort(String, int)} and {@link #dns(String, int)} to get a {@link ResultNode} with the results.
+ * <p>
+ * All methods have an async counterpart (e.g. {@link #pingAsync(String, int)}) which doesn't block the calling thread.
  */
 public class CheckHost4J {
 
     public static final CheckHost4J INSTANCE = new CheckHost4J(JavaRequester.INSTANCE);
 
     private final IRequester requester;
+    private final IAsyncRequester asyncRequester;
+    private final Executor executor;
+    private final ServerNodeCache nodeCache = new ServerNodeCache(ServerNodeCache.DEFAULT_TTL);
+    private final NodeHistory nodeHistory = new NodeHistory();
+    private volatile CheckCoalescer coalescer;
+    private volatile List<ServerNode> nodeList;
+    private volatile long nodeListFetched;
 
-    private CheckHost4J(final IRequester requester) {
+    public CheckHost4J(final IRequester requester) {
         this.requester = requester;
+        this.asyncRequester = AsyncRequester.of(requester);
+        this.executor = null;
+    }
+
+    /**
+     * Create an instance running the blocking requests of all async methods and async polls on the given executor.
+     * Synchronous methods (e.g. {@link #ping(String, int)} or {@link ResultNode#tickResults()}) still run on the calling
+     * thread. The submissions of batches run in their own {@link TaskScope} on the executor.
+     *
+     * @param requester The blocking requester
+     * @param executor  The executor running the requests
+     */
+    public CheckHost4J(final IRequester requester, final Executor executor) {
+        this.asyncRequester = new AsyncRequester(requester, executor);
+        this.requester = this.asyncRequester;
+        this.executor = executor;
+    }
+
+    /**
+     * Create an instance running the blocking requests of all async methods and async polls on virtual threads, so
+     * blocking requesters scale to many concurrent checks without a large thread pool. Falls back to the shared default executor on Java versions without
+     * virtual threads, see {@link VirtualThreads}.
+     *
+     * @param requester The blocking requester
+     * @return The new instance
+     */
+    public static CheckHost4J virtualThreads(final IRequester requester) {
+        return new CheckHost4J(requester, VirtualThreads.EXECUTOR);
     }
 
     /**
@@ -57,9 +109,7 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs
      */
     public ResultNode<PingResult> ping(final String host, final int maxNodes) throws Throwable {
-        final Pair<String, List<ServerNode>> entry = getServers(ResultType.PING, host, maxNodes);
-
-        return new ResultNode<>(requester, ResultType.PING, entry.getKey(), entry.getValue());
+        return check(ResultType.PING, host, maxNodes);
     }
 
     /**
@@ -69,9 +119,7 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs
      */
     public ResultNode<HTTPResult> http(final String host, final int maxNodes) throws Throwable {
-        final Pair<String, List<ServerNode>> entry = getServers(ResultType.HTTP, host, maxNodes);
-
-        return new ResultNode<>(requester, ResultType.HTTP, entry.getKey(), entry.getValue());
+        return check(ResultType.HTTP, host, maxNodes);
     }
 
     /**
@@ -81,9 +129,7 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs
      */
     public ResultNode<TCPResult> tcpPort(final String host, final int maxNodes) throws Throwable {
-        final Pair<String, List<ServerNode>> entry = getServers(ResultType.TCP, host, maxNodes);
-
-        return new ResultNode<>(requester, ResultType.TCP, entry.getKey(), entry.getValue());
+        return check(ResultType.TCP, host, maxNodes);
     }
 
     /**
@@ -93,9 +139,7 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs
      */
     public ResultNode<UDPResult> udpPort(final String host, final int maxNodes) throws Throwable {
-        final Pair<String, List<ServerNode>> entry = getServers(ResultType.UDP, host, maxNodes);
-
-        return new ResultNode<>(requester, ResultType.UDP, entry.getKey(), entry.getValue());
+        return check(ResultType.UDP, host, maxNodes);
     }
 
     /**
@@ -105,9 +149,237 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs
      */
     public ResultNode<DNSResult> dns(final String host, final int maxNodes) throws Throwable {
-        final Pair<String, List<ServerNode>> entry = getServers(ResultType.DNS, host, maxNodes);
+        return check(ResultType.DNS, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #ping(String, int)}
+     *
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public CompletableFuture<ResultNode<PingResult>> pingAsync(final String host, final int maxNodes) {
+        return checkAsync(ResultType.PING, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #http(String, int)}
+     *
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public CompletableFuture<ResultNode<HTTPResult>> httpAsync(final String host, final int maxNodes) {
+        return checkAsync(ResultType.HTTP, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #tcpPort(String, int)}
+     *
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public CompletableFuture<ResultNode<TCPResult>> tcpPortAsync(final String host, final int maxNodes) {
+        return checkAsync(ResultType.TCP, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #udpPort(String, int)}
+     *
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public CompletableFuture<ResultNode<UDPResult>> udpPortAsync(final String host, final int maxNodes) {
+        return checkAsync(ResultType.UDP, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #dns(String, int)}
+     *
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public CompletableFuture<ResultNode<DNSResult>> dnsAsync(final String host, final int maxNodes) {
+        return checkAsync(ResultType.DNS, host, maxNodes);
+    }
+
+    /**
+     * Async variant of {@link #ping(String, int)} and the other check methods for any {@link ResultType}
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final ResultType type, final String host, final int maxNodes) {
+        final CheckCoalescer coalescer = this.coalescer;
+        if (coalescer == null) {
+            return checkAsync(asyncRequester, type, host, maxNodes);
+        }
+        return coalescer.checkAsync(new CheckJob(type, host, maxNodes), () -> checkAsync(asyncRequester, type, host, maxNodes));
+    }
+
+    private <T extends Result> ResultNode<T> check(final ResultType type, final String host, final int maxNodes) throws Exception {
+        final CheckCoalescer coalescer = this.coalescer;
+        if (coalescer == null) {
+            return submit(type, host, maxNodes);
+        }
+        return coalescer.check(new CheckJob(type, host, maxNodes), () -> submit(type, host, maxNodes));
+    }
+
+    private <T extends Result> ResultNode<T> submit(final ResultType type, final String host, final int maxNodes) throws Exception {
+        final Pair<String, List<ServerNode>> entry = CHRequests.getServers(requester, type.identifier(), host, maxNodes, this::readServers);
+
+        return track(new ResultNode<>(requester, type, host, entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * @param submitter The requester submitting the check, the node itself always polls using the requester of this instance
+     */
+    private <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final IAsyncRequester submitter, final ResultType type, final String host, final int maxNodes) {
+        return CHRequests.getServersAsync(submitter, type.identifier(), host, maxNodes, this::readServers)
+                .thenApply(entry -> track(new ResultNode<>(asyncRequester, type, host, entry.getKey(), entry.getValue())));
+    }
+
+    private <T extends Result> ResultNode<T> track(final ResultNode<T> resultNode) {
+        nodeHistory.track(resultNode);
+        return resultNode;
+    }
+
+    /**
+     * Run a check on the given nodes instead of letting check-host choose them. Checks on explicit nodes are never coalesced.
+     *
+     * @param type  The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host  The host to check (e.g. google.com)
+     * @param nodes The nodes which should run the check
+     * @param <T>   The result type, has to match the given {@link ResultType}
+     * @return A {@link ResultNode} with the results
+     * @throws Throwable If an error occurs
+     */
+    public <T extends Result> ResultNode<T> check(final ResultType type, final String host, final List<ServerNode> nodes) throws Throwable {
+        final Pair<String, List<ServerNode>> entry = getServers(type, host, nodes);
+
+        return track(new ResultNode<>(requester, type, host, entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Run a check on the best nodes chosen by the given selector, see {@link #selectNodes(NodeSelector, int)}
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param selector The selector choosing the nodes
+     * @param maxNodes The maximum amount of nodes to use
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A {@link ResultNode} with the results
+     * @throws Throwable If an error occurs or no node matched the selector
+     */
+    public <T extends Result> ResultNode<T> check(final ResultType type, final String host, final NodeSelector selector, final int maxNodes) throws Throwable {
+        return check(type, host, requireNodes(selectNodes(selector, maxNodes)));
+    }
+
+    /**
+     * Async variant of {@link #check(ResultType, String, List)}
+     *
+     * @param type  The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host  The host to check (e.g. google.com)
+     * @param nodes The nodes which should run the check
+     * @param <T>   The result type, has to match the given {@link ResultType}
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final ResultType type, final String host, final List<ServerNode> nodes) {
+        return getServersAsync(type, host, nodes).thenApply(entry -> track(new ResultNode<>(asyncRequester, type, host, entry.getKey(), entry.getValue())));
+    }
+
+    /**
+     * Async variant of {@link #check(ResultType, String, NodeSelector, int)}
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param selector The selector choosing the nodes
+     * @param maxNodes The maximum amount of nodes to use
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final ResultType type, final String host, final NodeSelector selector, final int maxNodes) {
+        return selectNodesAsync(selector, maxNodes).thenCompose(nodes -> checkAsync(type, host, requireNodes(nodes)));
+    }
+
+    private static List<ServerNode> requireNodes(final List<ServerNode> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("No node matched the selector");
+        }
+        return nodes;
+    }
+
+    /**
+     * Stream the results of a check, see {@link #checkPublisher(ResultType, String, int, PollScheduler, PollStrategy)}.
+     * The check is polled using the {@link PollScheduler#INSTANCE} and the {@link PollStrategy#DEFAULT} strategy.
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A publisher emitting every node once it reported its result
+     */
+    public <T extends Result> ResultPublisher<T> checkPublisher(final ResultType type, final String host, final int maxNodes) {
+        return checkPublisher(type, host, maxNodes, PollScheduler.INSTANCE, PollStrategy.DEFAULT);
+    }
+
+    /**
+     * Start a check and stream its results as each node reports, instead of waiting for the whole check. The check is
+     * started immediately and polled by the given scheduler, results reported before subscribing are replayed. Subscribers
+     * are completed once all nodes reported or the timeout of the strategy passed.
+     *
+     * @param type      The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host      The host to check (e.g. google.com)
+     * @param maxNodes  The maximum amount of nodes to use
+     * @param scheduler The scheduler polling the check
+     * @param strategy  The strategy defining the poll delays and the timeout
+     * @param <T>       The result type, has to match the given {@link ResultType}
+     * @return A publisher emitting every node once it reported its result
+     */
+    public <T extends Result> ResultPublisher<T> checkPublisher(final ResultType type, final String host, final int maxNodes, final PollScheduler scheduler, final PollStrategy strategy) {
+        return new ResultPublisher<>(this.<T>checkAsync(type, host, maxNodes), node -> scheduler.register(node, strategy));
+    }
 
-        return new ResultNode<>(requester, ResultType.DNS, entry.getKey(), entry.getValue());
+    /**
+     * Submit many checks at once, see {@link #checkBatch(List, int, PollScheduler, PollStrategy)}. Nodes are polled using the
+     * {@link PollScheduler#INSTANCE} and the {@link PollStrategy#DEFAULT} strategy.
+     *
+     * @param jobs        The checks to run
+     * @param parallelism The maximum amount of checks in flight at the same time
+     * @return A handle streaming the checks as they complete
+     */
+    public BatchHandle checkBatch(final List<CheckJob> jobs, final int parallelism) {
+        return checkBatch(jobs, parallelism, PollScheduler.INSTANCE, PollStrategy.DEFAULT);
+    }
+
+    /**
+     * Submit many checks at once with bounded parallelism, every check is submitted and then polled by the given scheduler
+     * until all of its nodes reported or the timeout of the strategy passed. If this instance has been created with an
+     * executor, the submissions of the batch run in a {@link TaskScope} which is closed once the batch finished or has been
+     * cancelled, so cancelling interrupts submissions still in flight. The nodes poll using the executor of this instance,
+     * so they can still be ticked after the batch finished. Batches never use the {@link CheckCoalescer}, every job submits
+     * its own check.
+     *
+     * @param jobs        The checks to run
+     * @param parallelism The maximum amount of checks in flight at the same time
+     * @param scheduler   The scheduler polling the checks
+     * @param strategy    The strategy defining the poll delays and the timeout
+     * @return A handle streaming the checks as they complete
+     */
+    public BatchHandle checkBatch(final List<CheckJob> jobs, final int parallelism, final PollScheduler scheduler, final PollStrategy strategy) {
+        if (executor == null) {
+            return BatchHandle.submit(jobs, parallelism, job -> checkAsync(asyncRequester, job.type, job.host, job.maxNodes).thenCompose(node -> scheduler.register(node, strategy)));
+        }
+        final TaskScope scope = new TaskScope(executor);
+        final IAsyncRequester scoped = new AsyncRequester(requester, scope);
+        return BatchHandle.submit(jobs, parallelism, job -> checkAsync(scoped, job.type, job.host, job.maxNodes).thenCompose(node -> scheduler.register(node, strategy)), scope);
     }
 
     /**
@@ -118,17 +390,191 @@ public class CheckHost4J {
      * @throws Throwable If an error occurs (e.g. invalid response)
      */
     public Pair<String, List<ServerNode>> getServers(final ResultType type, final String host, final int maxNodes) throws Throwable {
-        final JsonObject response = CHRequests.getServers(requester, type.identifier(), host, maxNodes);
+        return CHRequests.getServers(requester, type.identifier(), host, maxNodes, this::readServers);
+    }
+
+    /**
+     * Variant of {@link #getServers(ResultType, String, int)} submitting the check to the given nodes
+     *
+     * @param type  The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host  The host to check (e.g. google.com)
+     * @param nodes The nodes which should run the check
+     * @return A pair of the request ID and a list of nodes
+     * @throws Throwable If an error occurs (e.g. invalid response)
+     */
+    public Pair<String, List<ServerNode>> getServers(final ResultType type, final String host, final List<ServerNode> nodes) throws Throwable {
+        return CHRequests.getServers(requester, type.identifier(), host, names(nodes), this::readServers);
+    }
+
+    /**
+     * Async variant of {@link #getServers(ResultType, String, List)}
+     *
+     * @param type  The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host  The host to check (e.g. google.com)
+     * @param nodes The nodes which should run the check
+     * @return A future which is completed with a pair of the request ID and a list of nodes
+     */
+    public CompletableFuture<Pair<String, List<ServerNode>>> getServersAsync(final ResultType type, final String host, final List<ServerNode> nodes) {
+        return CHRequests.getServersAsync(asyncRequester, type.identifier(), host, names(nodes), this::readServers);
+    }
 
-        final JsonObject nodes = getObject(response, "nodes");
+    /**
+     * @return All check-host nodes with their location and AS, the returned instances are shared with the node cache
+     * @throws Throwable If an error occurs (e.g. invalid response)
+     */
+    public List<ServerNode> getNodes() throws Throwable {
+        return storeNodes(CHRequests.getNodes(requester, this::readNodes));
+    }
 
-        final List<ServerNode> servers = new ArrayList<>();
-        for (Map.Entry<String, JsonElement> entry : nodes.entrySet()) {
-            final JsonArray node = entry.getValue().getAsJsonArray();
-            servers.add(ServerNode.of(entry.getKey(), node));
+    /**
+     * Async variant of {@link #getNodes()}
+     *
+     * @return A future which is completed with all check-host nodes
+     */
+    public CompletableFuture<List<ServerNode>> getNodesAsync() {
+        return CHRequests.getNodesAsync(asyncRequester, this::readNodes).thenApply(this::storeNodes);
+    }
+
+    /**
+     * Choose nodes for a check using the given selector and the history of all checks created by this instance. The
+     * node list is requested once and refreshed after the TTL of the {@link ServerNodeCache}.
+     *
+     * @param selector The selector filtering and ranking the nodes
+     * @param count    The maximum amount of nodes to select
+     * @return The selected nodes, best first
+     * @throws Throwable If the node list couldn't be requested
+     */
+    public List<ServerNode> selectNodes(final NodeSelector selector, final int count) throws Throwable {
+        final List<ServerNode> nodes = freshNodeList();
+        return selector.select(nodes == null ? getNodes() : nodes, nodeHistory, count);
+    }
+
+    /**
+     * Async variant of {@link #selectNodes(NodeSelector, int)}
+     *
+     * @param selector The selector filtering and ranking the nodes
+     * @param count    The maximum amount of nodes to select
+     * @return A future which is completed with the selected nodes, best first
+     */
+    public CompletableFuture<List<ServerNode>> selectNodesAsync(final NodeSelector selector, final int count) {
+        final List<ServerNode> nodes = freshNodeList();
+        final CompletableFuture<List<ServerNode>> candidates = nodes == null ? getNodesAsync() : CompletableFuture.completedFuture(nodes);
+        return candidates.thenApply(list -> selector.select(list, nodeHistory, count));
+    }
+
+    private List<ServerNode> freshNodeList() {
+        return System.currentTimeMillis() - nodeListFetched < nodeCache.getTTL() ? nodeList : null;
+    }
+
+    private List<ServerNode> storeNodes(final List<ServerNode> nodes) {
+        nodeList = nodes;
+        nodeListFetched = System.currentTimeMillis();
+        return nodes;
+    }
+
+    private static List<String> names(final List<ServerNode> nodes) {
+        final List<String> names = new ArrayList<>(nodes.size());
+        for (ServerNode node : nodes) {
+            names.add(node.name);
         }
+        return names;
+    }
+
+    /**
+     * Async variant of {@link #getServers(ResultType, String, int)}
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @return A future which is completed with a pair of the request ID and a list of nodes
+     */
+    public CompletableFuture<Pair<String, List<ServerNode>>> getServersAsync(final ResultType type, final String host, final int maxNodes) {
+        return CHRequests.getServersAsync(asyncRequester, type.identifier(), host, maxNodes, this::readServers);
+    }
+
+    /**
+     * Share in-flight and recent checks of the same type, host and node count between callers instead of submitting a
+     * new check for every call. Applies to the check methods taking a node count (e.g. {@link #ping(String, int)},
+     * {@link #checkAsync(ResultType, String, int)} and {@link #checkPublisher(ResultType, String, int)}). Batches and checks
+     * on explicit nodes always submit their own check. Disabled by default.
+     *
+     * @param coalescer The coalescer or null to submit a new check for every call
+     */
+    public void setCoalescer(final CheckCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
 
-        return new Pair<>(response.get("request_id").getAsString(), servers);
+    public CheckCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * @return The cache holding the shared {@link ServerNode} instances of all checks created by this instance
+     */
+    public ServerNodeCache getNodeCache() {
+        return nodeCache;
+    }
+
+    /**
+     * @return The time to result and reliability of every node, recorded for all checks created by the check methods of this instance
+     */
+    public NodeHistory getNodeHistory() {
+        return nodeHistory;
+    }
+
+    private List<ServerNode> readNodes(final JsonReader reader) throws IOException {
+        List<ServerNode> nodes = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("nodes") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                nodes = new ArrayList<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    nodes.add(nodeCache.readHost(reader.nextName(), reader));
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (nodes == null) {
+            throw new IllegalStateException("Expected element \"nodes\" in response");
+        }
+        return nodes;
+    }
+
+    private Pair<String, List<ServerNode>> readServers(final JsonReader reader) throws IOException {
+        String requestId = null;
+        List<ServerNode> servers = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if (key.equals("request_id")) {
+                requestId = nextOptString(reader);
+            } else if (key.equals("nodes") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                servers = new ArrayList<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    servers.add(nodeCache.read(reader.nextName(), reader));
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (servers == null) {
+            throw new IllegalStateException("Expected element \"nodes\" in response");
+        }
+        if (requestId == null) {
+            throw new IllegalStateException("Expected element \"request_id\" in response");
+        }
+        return new Pair<>(requestId, servers);
     }
 
 }
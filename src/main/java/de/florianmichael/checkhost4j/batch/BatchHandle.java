@@ -0,0 +1,229 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.batch;
+
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.util.Futures;
+import de.florianmichael.checkhost4j.util.TaskScope;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Aggregate handle of a batch of {@link CheckJob}s. At most {@code parallelism} jobs are in flight at the same time, a job
+ * counts as in flight from its submission until its {@link ResultNode} finished polling. Completed jobs can be consumed
+ * as they finish using {@link #next()}, {@link #onCompleted(Consumer)} or all at once using {@link #getFuture()}.
+ */
+public class BatchHandle {
+
+    private final List<CheckJob> jobs;
+    private final Function<CheckJob, CompletableFuture<? extends ResultNode<?>>> runner;
+    private final TaskScope scope;
+
+    private final BlockingQueue<JobResult> queue = new LinkedBlockingQueue<>();
+    private final List<JobResult> results = new ArrayList<>();
+    private final List<Consumer<JobResult>> listeners = new ArrayList<>();
+    private final CompletableFuture<List<JobResult>> future = new CompletableFuture<>();
+
+    private final AtomicInteger nextJob = new AtomicInteger();
+    private final AtomicInteger taken = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    private BatchHandle(final List<CheckJob> jobs, final Function<CheckJob, CompletableFuture<? extends ResultNode<?>>> runner, final TaskScope scope) {
+        this.jobs = new ArrayList<>(jobs);
+        this.runner = runner;
+        this.scope = scope;
+    }
+
+    /**
+     * Start a new batch
+     *
+     * @param jobs        The jobs to run
+     * @param parallelism The maximum amount of jobs in flight at the same time
+     * @param runner      Function submitting a single job and completing once its node finished polling
+     * @return The handle of the batch
+     */
+    public static BatchHandle submit(final List<CheckJob> jobs, final int parallelism, final Function<CheckJob, CompletableFuture<? extends ResultNode<?>>> runner) {
+        return submit(jobs, parallelism, runner, null);
+    }
+
+    /**
+     * Start a new batch whose tasks run in the given scope, the scope is closed once the batch finished or has been
+     * cancelled, which interrupts all requests still running
+     *
+     * @param jobs        The jobs to run
+     * @param parallelism The maximum amount of jobs in flight at the same time
+     * @param runner      Function submitting a single job and completing once its node finished polling
+     * @param scope       The scope the requests of the runner are executed in or null
+     * @return The handle of the batch
+     */
+    public static BatchHandle submit(final List<CheckJob> jobs, final int parallelism, final Function<CheckJob, CompletableFuture<? extends ResultNode<?>>> runner, final TaskScope scope) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism has to be positive, got: " + parallelism);
+        }
+        final BatchHandle handle = new BatchHandle(jobs, runner, scope);
+        if (scope != null) {
+            handle.future.whenComplete((results, throwable) -> scope.close());
+        }
+        if (handle.jobs.isEmpty()) {
+            handle.future.complete(Collections.emptyList());
+        }
+        for (int i = 0; i < Math.min(parallelism, handle.jobs.size()); i++) {
+            handle.startNext();
+        }
+        return handle;
+    }
+
+    /**
+     * Wait for the next completed job
+     *
+     * @return The next completed job or null if all jobs have been taken already
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public JobResult next() throws InterruptedException {
+        if (taken.getAndIncrement() >= jobs.size()) {
+            return null;
+        }
+        return queue.take();
+    }
+
+    /**
+     * Wait for the next completed job up to the given timeout
+     *
+     * @param timeout The timeout
+     * @param unit    The unit of the timeout
+     * @return The next completed job or null if all jobs have been taken already or the timeout passed
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public JobResult next(final long timeout, final TimeUnit unit) throws InterruptedException {
+        if (taken.getAndIncrement() >= jobs.size()) {
+            return null;
+        }
+        final JobResult result = queue.poll(timeout, unit);
+        if (result == null) {
+            taken.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Add a listener which is called for every completed job, jobs which already completed are passed immediately
+     *
+     * @param listener The listener
+     */
+    public void onCompleted(final Consumer<JobResult> listener) {
+        final List<JobResult> completed;
+        synchronized (results) {
+            listeners.add(listener);
+            completed = new ArrayList<>(results);
+        }
+        completed.forEach(listener);
+    }
+
+    /**
+     * @return A future which is completed with the results of all jobs once the batch finished
+     */
+    public CompletableFuture<List<JobResult>> getFuture() {
+        return future;
+    }
+
+    /**
+     * Stop submitting new jobs, jobs which haven't been started yet complete with a {@link CancellationException}.
+     * If the batch runs in a {@link TaskScope}, the scope is closed and running requests are interrupted as well.
+     */
+    public void cancel() {
+        cancelled = true;
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    public List<CheckJob> getJobs() {
+        return Collections.unmodifiableList(jobs);
+    }
+
+    public int getCompletedCount() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    /**
+     * Run jobs one after another until a job completes asynchronously, the job which completes it continues with the next
+     * one. Jobs completing synchronously (e.g. coalesced or failed immediately) are handled in the loop, so the stack
+     * doesn't grow with the amount of jobs.
+     */
+    private void startNext() {
+        while (true) {
+            final int index = nextJob.getAndIncrement();
+            if (index >= jobs.size()) {
+                return;
+            }
+            final CheckJob job = jobs.get(index);
+            if (cancelled) {
+                complete(new JobResult(job, null, new CancellationException("Batch has been cancelled")));
+                continue;
+            }
+            CompletableFuture<? extends ResultNode<?>> pending;
+            try {
+                pending = runner.apply(job);
+            } catch (RuntimeException e) {
+                pending = Futures.failed(e);
+            }
+            // Whoever of this loop and the callback comes second continues with the next job
+            final AtomicBoolean handOff = new AtomicBoolean();
+            pending.whenComplete((node, throwable) -> {
+                complete(new JobResult(job, node, throwable == null ? null : Futures.unwrap(throwable)));
+                if (!handOff.compareAndSet(false, true)) {
+                    startNext();
+                }
+            });
+            if (handOff.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void complete(final JobResult result) {
+        final List<Consumer<JobResult>> listeners;
+        final boolean done;
+        synchronized (results) {
+            results.add(result);
+            listeners = new ArrayList<>(this.listeners);
+            done = results.size() == jobs.size();
+        }
+        queue.add(result);
+        listeners.forEach(listener -> listener.accept(result));
+        if (done) {
+            synchronized (results) {
+                future.complete(Collections.unmodifiableList(new ArrayList<>(results)));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.batch;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.util.Futures;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication of checks keyed by {@link CheckJob}: concurrent callers checking the same type, host and
+ * node count share a single in-flight check and its {@link ResultNode}. Once a check has been submitted, its node is
+ * reused for the configured freshness window, the freshness window starts once the check has been submitted. Failed
+ * checks are never reused.
+ * <p>
+ * Shared nodes are thread-safe, callers polling the same node concurrently share in-flight polls, see
+ * {@link ResultNode#tickResultsAsync()}.
+ */
+public class CheckCoalescer {
+
+    private static final int PURGE_INTERVAL = 256;
+
+    private final long freshnessMillis;
+    private final Map<CheckJob, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger inserts = new AtomicInteger();
+
+    /**
+     * @param freshnessMillis The time in milliseconds a submitted check is reused for, 0 only shares in-flight submissions
+     */
+    public CheckCoalescer(final long freshnessMillis) {
+        if (freshnessMillis < 0) {
+            throw new IllegalArgumentException("Freshness can't be negative, got: " + freshnessMillis);
+        }
+        this.freshnessMillis = freshnessMillis;
+    }
+
+    /**
+     * Get the node of an in-flight or fresh check of the job or submit a new one on the calling thread
+     *
+     * @param job    The check
+     * @param loader Submits the check
+     * @param <T>    The result type
+     * @return The shared node
+     * @throws Exception If the check failed, concurrent callers sharing the check receive the same exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Result> ResultNode<T> check(final CheckJob job, final Callable<ResultNode<T>> loader) throws Exception {
+        final CompletableFuture<ResultNode<?>> future = new CompletableFuture<>();
+        final Entry entry = new Entry(future);
+        final Entry current = acquire(job, entry);
+        if (current != entry) {
+            try {
+                return (ResultNode<T>) current.future.get();
+            } catch (ExecutionException e) {
+                final Throwable cause = Futures.unwrap(e.getCause());
+                throw cause instanceof Exception ? (Exception) cause : new Exception(cause);
+            }
+        }
+        try {
+            final ResultNode<T> node = loader.call();
+            complete(job, entry, node, null);
+            return node;
+        } catch (Exception | Error e) {
+            complete(job, entry, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Async variant of {@link #check(CheckJob, Callable)}
+     *
+     * @param job    The check
+     * @param loader Submits the check
+     * @param <T>    The result type
+     * @return A future which is completed with the shared node
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final CheckJob job, final Supplier<CompletableFuture<ResultNode<T>>> loader) {
+        final CompletableFuture<ResultNode<?>> future = new CompletableFuture<>();
+        final Entry entry = new Entry(future);
+        final Entry current = acquire(job, entry);
+        if (current == entry) {
+            CompletableFuture<ResultNode<T>> pending;
+            try {
+                pending = loader.get();
+            } catch (RuntimeException e) {
+                pending = Futures.failed(e);
+            }
+            pending.whenComplete((node, throwable) -> complete(job, entry, node, throwable));
+        }
+        return current.future.thenApply(node -> (ResultNode<T>) node);
+    }
+
+    /**
+     * Forget the check of the given job, the next call will submit a new check
+     *
+     * @param job The check
+     */
+    public void invalidate(final CheckJob job) {
+        entries.remove(job);
+    }
+
+    /**
+     * Remove all checks which are no longer fresh
+     */
+    public void purge() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (!iterator.next().isReusable(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The amount of in-flight and cached checks
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public long getFreshnessMillis() {
+        return freshnessMillis;
+    }
+
+    private Entry acquire(final CheckJob job, final Entry entry) {
+        final long now = System.currentTimeMillis();
+        final Entry current = entries.compute(job, (key, existing) -> existing != null && existing.isReusable(now) ? existing : entry);
+        if (current == entry && inserts.incrementAndGet() % PURGE_INTERVAL == 0) {
+            purge();
+        }
+        return current;
+    }
+
+    private void complete(final CheckJob job, final Entry entry, final ResultNode<?> node, final Throwable throwable) {
+        if (throwable != null || freshnessMillis == 0) {
+            entries.remove(job, entry);
+        } else {
+            entry.submitted = System.currentTimeMillis();
+        }
+        if (throwable != null) {
+            entry.future.completeExceptionally(throwable);
+        } else {
+            entry.future.complete(node);
+        }
+    }
+
+    private class Entry {
+
+        private final CompletableFuture<ResultNode<?>> future;
+        private volatile long submitted; // 0 while in-flight
+
+        Entry(final CompletableFuture<ResultNode<?>> future) {
+            this.future = future;
+        }
+
+        boolean isReusable(final long now) {
+            final long submitted = this.submitted;
+            return submitted == 0 ? !future.isDone() : now - submitted < freshnessMillis;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.batch;
+
+import de.florianmichael.checkhost4j.model.ResultType;
+
+import java.util.Objects;
+
+/**
+ * A single check of a batch, see {@link de.florianmichael.checkhost4j.CheckHost4J#checkBatch(java.util.List, int)}
+ */
+public class CheckJob {
+
+    public final ResultType type;
+    public final String host;
+    public final int maxNodes;
+
+    public CheckJob(final ResultType type, final String host, final int maxNodes) {
+        this.type = type;
+        this.host = host;
+        this.maxNodes = maxNodes;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CheckJob)) return false;
+        final CheckJob checkJob = (CheckJob) o;
+        return maxNodes == checkJob.maxNodes && type == checkJob.type && host.equals(checkJob.host);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, host, maxNodes);
+    }
+
+    @Override
+    public String toString() {
+        return type.identifier() + ":" + host + "/" + maxNodes;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.batch;
+
+import de.florianmichael.checkhost4j.model.ResultNode;
+
+/**
+ * Outcome of a single {@link CheckJob}, either the polled {@link ResultNode} or the error which occurred
+ */
+public class JobResult {
+
+    public final CheckJob job;
+    public final ResultNode<?> node;
+    public final Throwable error;
+
+    JobResult(final CheckJob job, final ResultNode<?> node, final Throwable error) {
+        this.job = job;
+        this.node = node;
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.florianmichael.checkhost4j.codec.CodecOutput.*;
+
+/**
+ * Counterpart of {@link CodecOutput}, used by the {@link ResultDecoder}. Malformed input (e.g. overlong varints or
+ * unknown dictionary references) is reported as {@link IOException}.
+ */
+public class CodecInput implements DataInput {
+
+    /**
+     * Upper bound for the length of a single string, protects against allocating huge arrays for corrupt input
+     */
+    public static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+    private final InputStream in;
+    private final List<String> dictionary = new ArrayList<>();
+
+    /**
+     * @param in The stream to read from, should be buffered
+     */
+    public CodecInput(final InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * @return The next unsigned varint
+     * @throws IOException If the varint is longer than 5 bytes or doesn't fit into 32 bits
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = readUnsignedByte();
+            if (shift == 28 && (b & 0xF0) != 0) {
+                // Only the lowest 4 bits of the fifth byte are left, everything else would be silently dropped
+                throw new IOException("Varint overflows 32 bits");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * @return The next unsigned varint
+     * @throws IOException If the varint is longer than 10 bytes or doesn't fit into 64 bits
+     */
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final int b = readUnsignedByte();
+            if (shift == 63 && (b & 0xFE) != 0) {
+                throw new IOException("Varint overflows 64 bits");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * @return The next byte or -1 if the end of the stream has been reached
+     */
+    int readOptByte() throws IOException {
+        return in.read();
+    }
+
+    @Override
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        int read = 0;
+        while (read < len) {
+            final int count = in.read(b, off + read, len - read);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            read += count;
+        }
+    }
+
+    @Override
+    public int skipBytes(final int n) throws IOException {
+        int skipped = 0;
+        while (skipped < n && in.read() >= 0) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readUnsignedByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return (byte) readUnsignedByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        final int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return (short) readInt();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readVarInt();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        final int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        final long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readUnsignedByte() << 24 | readUnsignedByte() << 16 | readUnsignedByte() << 8 | readUnsignedByte());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = bits << 8 | readUnsignedByte();
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Read bytes up to the next {@code \n} as described in {@link DataInput#readLine()}, every byte is converted into a
+     * char without decoding. A {@code \r} directly before the {@code \n} is removed, a single {@code \r} doesn't end
+     * the line since the stream can't be pushed back.
+     *
+     * @return The line without terminator or null if the end of the stream has been reached before reading any byte
+     */
+    @Override
+    public String readLine() throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            line.append((char) b);
+        }
+        if (b < 0 && line.length() == 0) {
+            return null;
+        }
+        final int end = line.length() - 1;
+        if (end >= 0 && line.charAt(end) == '\r') {
+            line.setLength(end);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        final int header = readVarInt();
+        if (header >= REFERENCE) {
+            final int index = header - REFERENCE;
+            if (index >= dictionary.size()) {
+                throw new IOException("Unknown dictionary reference: " + index);
+            }
+            return dictionary.get(index);
+        }
+        final int length = readVarInt();
+        if (length < 0 || length > MAX_STRING_LENGTH) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        final byte[] bytes = new byte[length];
+        readFully(bytes);
+        final String value = new String(bytes, StandardCharsets.UTF_8);
+        if (header == LITERAL) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+}
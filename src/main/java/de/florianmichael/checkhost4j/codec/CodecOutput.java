@@ -0,0 +1,181 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact {@link DataOutput} used by the {@link ResultEncoder}, so results and nodes are written using their regular
+ * {@code write(DataOutput)} methods. Integral values are written as zigzag varints, floating point values keep their
+ * fixed width and strings written using {@link #writeUTF(String)} are deduplicated using a dictionary shared by the
+ * whole stream: a string is written once and referenced by its index afterwards.
+ * <p>
+ * Strings are encoded as a varint header: 0 is a literal which is added to the dictionary, 1 a literal which isn't added
+ * since the dictionary is full, any other value references the dictionary entry at index {@code header - 2}. Literals
+ * are followed by their UTF-8 length as varint and the UTF-8 bytes.
+ */
+public class CodecOutput implements DataOutput {
+
+    static final int LITERAL = 0;
+    static final int LITERAL_UNINDEXED = 1;
+    static final int REFERENCE = 2;
+
+    private final OutputStream out;
+    private final int maxDictionarySize;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /**
+     * @param out               The stream to write to, should be buffered
+     * @param maxDictionarySize The maximum amount of strings in the dictionary, further strings are always written as literal
+     */
+    public CodecOutput(final OutputStream out, final int maxDictionarySize) {
+        this.out = out;
+        this.maxDictionarySize = maxDictionarySize;
+    }
+
+    /**
+     * @param value The value to write as unsigned varint, 1 to 5 bytes
+     */
+    public void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * @param value The value to write as unsigned varint, 1 to 10 bytes
+     */
+    public void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(final boolean v) throws IOException {
+        out.write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(final int v) throws IOException {
+        out.write(v);
+    }
+
+    @Override
+    public void writeShort(final int v) throws IOException {
+        writeInt((short) v);
+    }
+
+    @Override
+    public void writeChar(final int v) throws IOException {
+        writeVarInt((char) v);
+    }
+
+    @Override
+    public void writeInt(final int v) throws IOException {
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+
+    @Override
+    public void writeLong(final long v) throws IOException {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    @Override
+    public void writeFloat(final float v) throws IOException {
+        final int bits = Float.floatToIntBits(v);
+        out.write(bits >>> 24);
+        out.write(bits >>> 16);
+        out.write(bits >>> 8);
+        out.write(bits);
+    }
+
+    @Override
+    public void writeDouble(final double v) throws IOException {
+        final long bits = Double.doubleToLongBits(v);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+
+    @Override
+    public void writeBytes(final String s) throws IOException {
+        writeVarInt(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            out.write(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(final String s) throws IOException {
+        writeVarInt(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(final String s) throws IOException {
+        final Integer index = dictionary.get(s);
+        if (index != null) {
+            writeVarInt(REFERENCE + index);
+            return;
+        }
+        if (dictionary.size() < maxDictionarySize) {
+            dictionary.put(s, dictionary.size());
+            writeVarInt(LITERAL);
+        } else {
+            writeVarInt(LITERAL_UNINDEXED);
+        }
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @return The amount of strings in the dictionary
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+/**
+ * The kinds of records in a stream written by the {@link ResultEncoder}
+ */
+public enum RecordType {
+
+    NODE(1), RESULT(2), SNAPSHOT(3);
+
+    final int tag;
+
+    RecordType(final int tag) {
+        this.tag = tag;
+    }
+
+    static RecordType byTag(final int tag) {
+        for (RecordType type : values()) {
+            if (type.tag == tag) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
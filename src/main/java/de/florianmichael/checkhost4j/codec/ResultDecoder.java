@@ -0,0 +1,155 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.florianmichael.checkhost4j.codec.ResultEncoder.*;
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
+
+/**
+ * Reads streams written by the {@link ResultEncoder} record by record, use {@link #peek()} to find out which record
+ * follows. Streams of newer versions are rejected.
+ */
+public class ResultDecoder implements Closeable {
+
+    private final InputStream stream;
+    private final CodecInput in;
+    private final int version;
+    private RecordType next;
+
+    /**
+     * @param stream The stream to read from, it will be buffered
+     * @throws IOException If the header is missing or the version is unsupported
+     */
+    public ResultDecoder(final InputStream stream) throws IOException {
+        this.stream = stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream);
+        this.in = new CodecInput(this.stream);
+
+        final int magic = in.readUnsignedByte() << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+        if (magic != MAGIC) {
+            throw new IOException("Not a result stream, magic: " + Integer.toHexString(magic));
+        }
+        this.version = in.readVarInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported version: " + version);
+        }
+    }
+
+    /**
+     * @return The type of the next record or null if the end of the stream has been reached
+     * @throws IOException If reading fails or the record type is unknown
+     */
+    public RecordType peek() throws IOException {
+        if (next == null) {
+            final int tag = in.readOptByte();
+            if (tag < 0) {
+                return null;
+            }
+            next = RecordType.byTag(tag);
+            if (next == null) {
+                throw new IOException("Unknown record tag: " + tag);
+            }
+        }
+        return next;
+    }
+
+    public boolean hasNext() throws IOException {
+        return peek() != null;
+    }
+
+    public ServerNode readNode() throws IOException {
+        expect(RecordType.NODE);
+        return ServerNode.read(in);
+    }
+
+    public Result readResult() throws Exception {
+        expect(RecordType.RESULT);
+        return readType().read(in);
+    }
+
+    public ResultSnapshot readSnapshot() throws Exception {
+        expect(RecordType.SNAPSHOT);
+        final ResultType type = readType();
+        final String host = readOptString(in);
+        final String requestId = readOptString(in);
+        final int size = in.readVarInt();
+
+        final List<ServerNode> nodes = new ArrayList<>(Math.min(size, 1024));
+        final Map<ServerNode, Result> results = new LinkedHashMap<>();
+        final Set<ServerNode> expired = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            final ServerNode node = ServerNode.read(in);
+            final int state = in.readUnsignedByte();
+            nodes.add(node);
+            if (state == PENDING) {
+                results.put(node, null);
+                continue;
+            } else if (state == EXPIRED) {
+                expired.add(node);
+            } else if (state != REPORTED) {
+                throw new IOException("Unknown node state: " + state);
+            }
+            results.put(node, type.read(in));
+        }
+        return new ResultSnapshot(type, host, requestId, nodes, results, expired);
+    }
+
+    /**
+     * @return The version of the stream
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    private void expect(final RecordType type) throws IOException {
+        final RecordType next = peek();
+        if (next != type) {
+            throw new IOException("Expected " + type + " record, got: " + next);
+        }
+        this.next = null;
+    }
+
+    private ResultType readType() throws IOException {
+        final int tag = in.readVarInt();
+        final ResultType type = ResultType.byTag(tag);
+        if (type == null) {
+            throw new IOException("Unknown result type: " + tag);
+        }
+        return type;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
+
+/**
+ * Writes {@link ServerNode}s, results and {@link ResultNode} snapshots as compact binary stream, read using the
+ * {@link ResultDecoder}. Records are written one by one, so the stream can be sent while it's being written.
+ * <p>
+ * Schema of version {@value #VERSION}: the stream starts with the magic {@code 0x43483442} ("CH4B") and the version as
+ * varint, followed by records. Every record starts with its {@link RecordType} tag:
+ * <ul>
+ *     <li>node: the node as written by {@link ServerNode#write(java.io.DataOutput)}</li>
+ *     <li>result: the {@link ResultType#tag()} and the result as written by {@link Result#write(java.io.DataOutput)}</li>
+ *     <li>snapshot: the {@link ResultType#tag()}, optional host and request ID, the amount of nodes and for every node
+ *     the node, its state (0 pending, 1 reported, 2 expired) and its result unless pending</li>
+ * </ul>
+ * All values use the encoding of {@link CodecOutput}. Since strings reference a dictionary built while writing, a stream
+ * can only be decoded from its beginning.
+ */
+public class ResultEncoder implements Flushable, Closeable {
+
+    public static final int MAGIC = 0x43483442;
+    public static final int VERSION = 1;
+    public static final int DEFAULT_DICTIONARY_SIZE = 4096;
+
+    static final int PENDING = 0;
+    static final int REPORTED = 1;
+    static final int EXPIRED = 2;
+
+    private final OutputStream stream;
+    private final CodecOutput out;
+
+    /**
+     * Create an encoder using a dictionary of up to {@link #DEFAULT_DICTIONARY_SIZE} strings
+     *
+     * @param stream The stream to write to, it will be buffered
+     * @throws IOException If the header couldn't be written
+     */
+    public ResultEncoder(final OutputStream stream) throws IOException {
+        this(stream, DEFAULT_DICTIONARY_SIZE);
+    }
+
+    /**
+     * @param stream            The stream to write to, it will be buffered
+     * @param maxDictionarySize The maximum amount of strings in the dictionary, which has to be held in memory by the decoder as well
+     * @throws IOException If the header couldn't be written
+     */
+    public ResultEncoder(final OutputStream stream, final int maxDictionarySize) throws IOException {
+        this.stream = stream instanceof BufferedOutputStream ? stream : new BufferedOutputStream(stream);
+        this.out = new CodecOutput(this.stream, maxDictionarySize);
+
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(MAGIC >>> shift);
+        }
+        out.writeVarInt(VERSION);
+    }
+
+    public void writeNode(final ServerNode node) throws IOException {
+        out.writeByte(RecordType.NODE.tag);
+        node.write(out);
+    }
+
+    /**
+     * @param type   The type of the result, has to match the result
+     * @param result The result
+     */
+    public void writeResult(final ResultType type, final Result result) throws IOException {
+        out.writeByte(RecordType.RESULT.tag);
+        out.writeVarInt(type.tag());
+        result.write(out);
+    }
+
+    /**
+     * Write the current results of the given node, see {@link ResultSnapshot#of(ResultNode)}
+     *
+     * @param resultNode The node
+     */
+    public void writeSnapshot(final ResultNode<?> resultNode) throws IOException {
+        writeSnapshot(ResultSnapshot.of(resultNode));
+    }
+
+    public void writeSnapshot(final ResultSnapshot snapshot) throws IOException {
+        out.writeByte(RecordType.SNAPSHOT.tag);
+        out.writeVarInt(snapshot.type.tag());
+        writeOptString(out, snapshot.host);
+        writeOptString(out, snapshot.requestId);
+        out.writeVarInt(snapshot.nodes.size());
+        for (ServerNode node : snapshot.nodes) {
+            node.write(out);
+            final Result result = snapshot.results.get(node);
+            if (result == null) {
+                out.writeByte(PENDING);
+            } else {
+                out.writeByte(snapshot.expired.contains(node) ? EXPIRED : REPORTED);
+                result.write(out);
+            }
+        }
+    }
+
+    /**
+     * @return The amount of strings in the dictionary
+     */
+    public int getDictionarySize() {
+        return out.getDictionarySize();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.codec;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detached state of a {@link ResultNode} at one point in time, as written and read by the {@link ResultEncoder} and the
+ * {@link ResultDecoder}. Unlike a {@link ResultNode}, a snapshot can't be ticked.
+ */
+public class ResultSnapshot {
+
+    public final ResultType type;
+    public final String host;
+    public final String requestId;
+    public final List<ServerNode> nodes;
+    /**
+     * Results of all nodes in the order of {@link #nodes}, null for nodes which didn't report yet
+     */
+    public final Map<ServerNode, Result> results;
+    /**
+     * Nodes whose failed result has been filled in, see {@link ResultNode#expireMissing()}
+     */
+    public final Set<ServerNode> expired;
+
+    public ResultSnapshot(final ResultType type, final String host, final String requestId, final List<ServerNode> nodes, final Map<ServerNode, Result> results, final Set<ServerNode> expired) {
+        this.type = type;
+        this.host = host;
+        this.requestId = requestId;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.results = Collections.unmodifiableMap(results);
+        this.expired = Collections.unmodifiableSet(expired);
+    }
+
+    /**
+     * @param resultNode The node
+     * @return A snapshot of the current results of the node
+     */
+    public static ResultSnapshot of(final ResultNode<?> resultNode) {
+        return new ResultSnapshot(resultNode.getType(), resultNode.getHost(), resultNode.getRequestId(), resultNode.getNodes(),
+                Collections.unmodifiableMap(resultNode.getResults()), resultNode.getExpired());
+    }
+
+}
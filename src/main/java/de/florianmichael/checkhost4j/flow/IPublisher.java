@@ -0,0 +1,36 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.flow;
+
+/**
+ * Source of a potentially unbounded amount of items which are pushed to subscribers as they demand them. Mirrors
+ * {@code java.util.concurrent.Flow.Publisher} and the Reactive Streams specification, so it can be adapted to either
+ * with a single method reference.
+ *
+ * @param <T> The item type
+ */
+public interface IPublisher<T> {
+
+    /**
+     * Subscribe the given subscriber, which will receive {@link ISubscriber#onSubscribe(ISubscription)} first
+     *
+     * @param subscriber The subscriber
+     */
+    void subscribe(ISubscriber<? super T> subscriber);
+
+}
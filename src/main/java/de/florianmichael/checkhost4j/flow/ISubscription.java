@@ -0,0 +1,37 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.flow;
+
+/**
+ * Link between an {@link IPublisher} and a single {@link ISubscriber}, used to request items and to cancel the subscription
+ */
+public interface ISubscription {
+
+    /**
+     * Request the given amount of additional items, {@link Long#MAX_VALUE} requests an unbounded amount
+     *
+     * @param n The amount of items, has to be positive
+     */
+    void request(long n);
+
+    /**
+     * Stop receiving items, items might still arrive until the cancellation has been noticed
+     */
+    void cancel();
+
+}
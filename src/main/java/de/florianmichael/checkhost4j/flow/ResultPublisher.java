@@ -0,0 +1,260 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.flow;
+
+import de.florianmichael.checkhost4j.model.IResultListener;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.util.Futures;
+import de.florianmichael.checkhost4j.util.Pair;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publisher emitting a {@code (ServerNode, Result)} pair as soon as a node of a {@link ResultNode} reported its result.
+ * Every subscriber receives every node exactly once, results reported before subscribing are replayed. Results are
+ * buffered per subscriber until they are requested, which is bounded by the amount of nodes of the check.
+ * <p>
+ * Subscribers are completed once all nodes reported or once the optional termination future completed (e.g. because the
+ * polling timed out) and receive an error if the check or the polling failed. Items are delivered on the thread
+ * publishing the results or requesting items, so subscribers shouldn't block.
+ *
+ * @param <T> The result type
+ */
+public class ResultPublisher<T extends Result> implements IPublisher<Pair<ServerNode, T>> {
+
+    private final CompletableFuture<ResultNode<T>> node;
+    private final CompletableFuture<?> termination;
+
+    /**
+     * Publish the results of the given node, which has to be ticked by the caller. Subscribers are only completed once all
+     * nodes reported their result.
+     *
+     * @param node The result node
+     */
+    public ResultPublisher(final ResultNode<T> node) {
+        this(CompletableFuture.completedFuture(node), resultNode -> new CompletableFuture<>());
+    }
+
+    /**
+     * Publish the results of a node which is not available yet
+     *
+     * @param node   A future which is completed with the result node
+     * @param driver Called once the node is available, starts ticking the node and returns a future which is completed once
+     *               no more results will be reported
+     */
+    public ResultPublisher(final CompletableFuture<ResultNode<T>> node, final Function<ResultNode<T>, ? extends CompletionStage<?>> driver) {
+        this.node = node;
+        this.termination = node.thenCompose(resultNode -> driver.apply(resultNode).thenApply(result -> null));
+    }
+
+    @Override
+    public void subscribe(final ISubscriber<? super Pair<ServerNode, T>> subscriber) {
+        final ResultSubscription<T> subscription = new ResultSubscription<>(subscriber);
+        subscriber.onSubscribe(subscription);
+        node.whenComplete((resultNode, throwable) -> {
+            if (throwable != null) {
+                subscription.fail(Futures.unwrap(throwable));
+            } else {
+                subscription.attach(resultNode);
+            }
+        });
+        termination.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                subscription.fail(Futures.unwrap(throwable)); // Dependent stages wrap the failure in a CompletionException
+            } else {
+                subscription.finish();
+            }
+        });
+    }
+
+    /**
+     * @return A future which is completed with the published result node
+     */
+    public CompletableFuture<ResultNode<T>> getNode() {
+        return node;
+    }
+
+    private static class ResultSubscription<T extends Result> implements ISubscription, IResultListener<T> {
+
+        private final ISubscriber<? super Pair<ServerNode, T>> subscriber;
+        private final Queue<Pair<ServerNode, T>> queue = new ConcurrentLinkedQueue<>();
+        private final Set<ServerNode> emitted = ConcurrentHashMap.newKeySet();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile ResultNode<T> resultNode;
+        private volatile boolean done;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+
+        ResultSubscription(final ISubscriber<? super Pair<ServerNode, T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void attach(final ResultNode<T> resultNode) {
+            if (cancelled) {
+                return;
+            }
+            this.resultNode = resultNode;
+            // Register first, so no result is lost between reading the snapshot and registering
+            resultNode.addListener(this);
+            for (Map.Entry<ServerNode, T> entry : resultNode.getResults().entrySet()) {
+                if (entry.getValue() != null) {
+                    offer(resultNode, entry.getKey(), entry.getValue());
+                }
+            }
+            if (resultNode.getNodes().isEmpty()) {
+                finish();
+            }
+            if (cancelled) {
+                resultNode.removeListener(this);
+            }
+        }
+
+        @Override
+        public void onResult(final ResultNode<T> resultNode, final ServerNode node, final T result) {
+            offer(resultNode, node, result);
+        }
+
+        private void offer(final ResultNode<T> resultNode, final ServerNode node, final T result) {
+            if (!emitted.add(node)) {
+                return; // Already emitted from the snapshot
+            }
+            queue.add(new Pair<>(node, result));
+            if (emitted.size() == resultNode.getNodes().size()) {
+                done = true;
+            }
+            drain();
+        }
+
+        void finish() {
+            done = true;
+            drain();
+        }
+
+        void fail(final Throwable throwable) {
+            if (!done) {
+                error = throwable;
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested amount has to be positive, got " + n));
+                return;
+            }
+            long current;
+            do {
+                current = demand.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+            } while (!demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                cleanup();
+            }
+        }
+
+        /**
+         * Deliver the buffered results as far as requested, only a single thread drains at a time
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    cleanup();
+                    return;
+                }
+                final long requested = demand.get();
+                long sent = 0;
+                while (sent != requested) {
+                    if (cancelled) {
+                        cleanup();
+                        return;
+                    }
+                    if (error != null) {
+                        terminate();
+                        return;
+                    }
+                    final boolean finished = done;
+                    final Pair<ServerNode, T> item = queue.poll();
+                    if (item == null) {
+                        if (finished) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    sent++;
+                }
+                if (sent == requested && (error != null || done && queue.isEmpty())) {
+                    terminate();
+                    return;
+                }
+                if (sent != 0 && requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-sent);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            cancelled = true;
+            cleanup();
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private void cleanup() {
+            queue.clear();
+            final ResultNode<T> resultNode = this.resultNode;
+            if (resultNode != null) {
+                resultNode.removeListener(this);
+            }
+        }
+
+    }
+
+}
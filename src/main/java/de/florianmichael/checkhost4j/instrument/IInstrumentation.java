@@ -0,0 +1,90 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.instrument;
+
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+/**
+ * Hook receiving timings and counts of every stage of a check, install it using {@link Instrumentation#set(IInstrumentation)}.
+ * All methods are no-ops by default and are called on the thread doing the work, so implementations have to be
+ * thread-safe and should return quickly. Bridges to metrics libraries (e.g. Micrometer timers) or JFR events can be
+ * implemented on top of this interface.
+ */
+public interface IInstrumentation {
+
+    /**
+     * Called once a request to the API returned, for streamed responses this is the time until the body can be read
+     *
+     * @param endpoint      The endpoint, e.g. {@code check-ping} or {@code check-result}
+     * @param durationNanos The duration of the request in nanoseconds
+     * @param failed        True if the request failed
+     */
+    default void onRequest(String endpoint, long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Called once a response has been decoded
+     *
+     * @param endpoint      The endpoint, e.g. {@code check-ping} or {@code check-result}
+     * @param durationNanos The time spent decoding the response in nanoseconds, for streamed responses this includes reading the body
+     * @param bytes         The amount of bytes read or -1 if unknown (e.g. for requesters returning Strings)
+     */
+    default void onDecode(String endpoint, long durationNanos, long bytes) {
+    }
+
+    /**
+     * Called once the result of a single node has been converted into a result object
+     *
+     * @param type          The result type
+     * @param durationNanos The duration of the conversion in nanoseconds
+     */
+    default void onConvert(ResultType type, long durationNanos) {
+    }
+
+    /**
+     * Called for every poll of an incomplete result node
+     *
+     * @param resultNode The polled result node
+     */
+    default void onPoll(ResultNode<?> resultNode) {
+    }
+
+    /**
+     * Called once a node reported its result, not called for results filled in by {@link ResultNode#expireMissing()}
+     *
+     * @param resultNode        The result node
+     * @param node              The node which reported
+     * @param timeToResultNanos The time since the creation of the result node in nanoseconds
+     */
+    default void onNodeResult(ResultNode<?> resultNode, ServerNode node, long timeToResultNanos) {
+    }
+
+    /**
+     * Called once every node of a result node reported its result, not called if the last nodes were expired using
+     * {@link ResultNode#expireMissing()}
+     *
+     * @param resultNode      The result node
+     * @param polls           The amount of polls until completion
+     * @param durationNanos   The time since the creation of the result node in nanoseconds
+     */
+    default void onComplete(ResultNode<?> resultNode, int polls, long durationNanos) {
+    }
+
+}
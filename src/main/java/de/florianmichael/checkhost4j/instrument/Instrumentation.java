@@ -0,0 +1,64 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.instrument;
+
+import java.net.URI;
+
+/**
+ * Global holder of the installed {@link IInstrumentation}, instrumentation is disabled by default and costs a single
+ * volatile read per stage while disabled.
+ */
+public class Instrumentation {
+
+    public static final IInstrumentation NONE = new IInstrumentation() {
+    };
+
+    private static volatile IInstrumentation instrumentation = NONE;
+
+    /**
+     * Install the given instrumentation, replacing the current one
+     *
+     * @param instrumentation The instrumentation or null to disable instrumentation
+     */
+    public static void set(final IInstrumentation instrumentation) {
+        Instrumentation.instrumentation = instrumentation == null ? NONE : instrumentation;
+    }
+
+    public static IInstrumentation get() {
+        return instrumentation;
+    }
+
+    public static boolean isEnabled() {
+        return instrumentation != NONE;
+    }
+
+    /**
+     * @param target The requested URI
+     * @return The endpoint of the URI, e.g. {@code check-ping} for {@code /check-ping?host=...}
+     */
+    public static String endpoint(final URI target) {
+        final String path = target.getPath();
+        if (path == null || path.isEmpty()) {
+            return "";
+        }
+        final int start = path.charAt(0) == '/' ? 1 : 0;
+        final int end = path.indexOf('/', start);
+        return end == -1 ? path.substring(start) : path.substring(start, end);
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.instrument;
+
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.stats.LatencyHistogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link IInstrumentation} collecting counters and {@link LatencyHistogram}s for every stage in memory, which can be
+ * read at any time or exported periodically. Durations are reported in seconds by the histograms.
+ */
+public class MetricsInstrumentation implements IInstrumentation {
+
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failedRequests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> bytesRead = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> requestDurations = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> decodeDurations = new ConcurrentHashMap<>();
+    private final Map<ResultType, LatencyHistogram> convertDurations = new ConcurrentHashMap<>();
+    private final Map<ResultType, LatencyHistogram> timesToResult = new ConcurrentHashMap<>();
+    private final Map<ResultType, LatencyHistogram> completionDurations = new ConcurrentHashMap<>();
+    private final Map<ResultType, LongAdder> polls = new ConcurrentHashMap<>();
+    private final Map<ResultType, LongAdder> pollsUntilCompletion = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequest(final String endpoint, final long durationNanos, final boolean failed) {
+        counter(requests, endpoint).increment();
+        if (failed) {
+            counter(failedRequests, endpoint).increment();
+        }
+        record(requestDurations, endpoint, durationNanos);
+    }
+
+    @Override
+    public void onDecode(final String endpoint, final long durationNanos, final long bytes) {
+        if (bytes >= 0) {
+            counter(bytesRead, endpoint).add(bytes);
+        }
+        record(decodeDurations, endpoint, durationNanos);
+    }
+
+    @Override
+    public void onConvert(final ResultType type, final long durationNanos) {
+        record(convertDurations, type, durationNanos);
+    }
+
+    @Override
+    public void onPoll(final ResultNode<?> resultNode) {
+        counter(polls, resultNode.getType()).increment();
+    }
+
+    @Override
+    public void onNodeResult(final ResultNode<?> resultNode, final ServerNode node, final long timeToResultNanos) {
+        record(timesToResult, resultNode.getType(), timeToResultNanos);
+    }
+
+    @Override
+    public void onComplete(final ResultNode<?> resultNode, final int polls, final long durationNanos) {
+        counter(pollsUntilCompletion, resultNode.getType()).add(polls);
+        record(completionDurations, resultNode.getType(), durationNanos);
+    }
+
+    /**
+     * @param endpoint The endpoint, e.g. {@code check-ping} or {@code check-result}
+     * @return The amount of requests sent to the endpoint
+     */
+    public long getRequestCount(final String endpoint) {
+        return sum(requests, endpoint);
+    }
+
+    /**
+     * @param endpoint The endpoint, e.g. {@code check-ping} or {@code check-result}
+     * @return The amount of failed requests to the endpoint
+     */
+    public long getFailedRequestCount(final String endpoint) {
+        return sum(failedRequests, endpoint);
+    }
+
+    /**
+     * @param endpoint The endpoint, e.g. {@code check-ping} or {@code check-result}
+     * @return The amount of bytes read from responses of the endpoint
+     */
+    public long getBytesRead(final String endpoint) {
+        return sum(bytesRead, endpoint);
+    }
+
+    public LatencyHistogram getRequestDurations(final String endpoint) {
+        return histogram(requestDurations, endpoint);
+    }
+
+    public LatencyHistogram getDecodeDurations(final String endpoint) {
+        return histogram(decodeDurations, endpoint);
+    }
+
+    public LatencyHistogram getConvertDurations(final ResultType type) {
+        return histogram(convertDurations, type);
+    }
+
+    /**
+     * @param type The result type
+     * @return The time from the creation of a result node until a single node reported its result
+     */
+    public LatencyHistogram getTimesToResult(final ResultType type) {
+        return histogram(timesToResult, type);
+    }
+
+    /**
+     * @param type The result type
+     * @return The time from the creation of a result node until all nodes reported their result
+     */
+    public LatencyHistogram getCompletionDurations(final ResultType type) {
+        return histogram(completionDurations, type);
+    }
+
+    /**
+     * @param type The result type
+     * @return The amount of polls of result nodes of the given type
+     */
+    public long getPollCount(final ResultType type) {
+        return sum(polls, type);
+    }
+
+    /**
+     * @param type The result type
+     * @return The average amount of polls until a result node of the given type completed or -1 if none completed yet
+     */
+    public double getAveragePollsUntilCompletion(final ResultType type) {
+        final long completed = histogram(completionDurations, type).getCount();
+        return completed == 0 ? -1 : sum(pollsUntilCompletion, type) / (double) completed;
+    }
+
+    private static <K> LongAdder counter(final Map<K, LongAdder> counters, final K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static <K> long sum(final Map<K, LongAdder> counters, final K key) {
+        final LongAdder counter = counters.get(key);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static <K> void record(final Map<K, LatencyHistogram> histograms, final K key, final long durationNanos) {
+        histogram(histograms, key).recordMicros(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    private static <K> LatencyHistogram histogram(final Map<K, LatencyHistogram> histograms, final K key) {
+        return histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+}
@@ -0,0 +1,449 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.mock;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.request.IRequester;
+import de.florianmichael.checkhost4j.util.CHRequests;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for the check-host.net API implementing {@code /check-{type}}, {@code /check-result/{id}} and
+ * {@code /nodes/hosts}, used to measure throughput, polling and backpressure offline and reproducibly. Nodes report after
+ * a random latency within the configured range; a share of them can report failed results, error objects
+ * (e.g. {"message": "..."}) or never report.
+ * Use {@link #requester(IRequester)} to redirect requests of any requester to this server.
+ */
+public class MockCheckHostServer {
+
+    private static final String[] COUNTRIES = {"de", "Germany", "Frankfurt", "us", "USA", "Los Angeles", "fr", "France", "Paris", "jp", "Japan", "Tokyo"};
+
+    private final Map<String, MockCheck> checks = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong nextId = new AtomicLong();
+
+    private int nodeCount = 40;
+    private long minLatency = 500;
+    private long maxLatency = 3000;
+    private double failureRate = 0;
+    private double messageRate = 0;
+    private double deadRate = 0;
+    private double errorRate = 0;
+    private long seed = 0;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param nodeCount The amount of nodes known to the server, checks use at most this many nodes
+     */
+    public MockCheckHostServer nodeCount(final int nodeCount) {
+        this.nodeCount = nodeCount;
+        return this;
+    }
+
+    /**
+     * @param minLatency The minimum time in milliseconds until a node reports
+     * @param maxLatency The maximum time in milliseconds until a node reports
+     */
+    public MockCheckHostServer latency(final long minLatency, final long maxLatency) {
+        this.minLatency = minLatency;
+        this.maxLatency = Math.max(minLatency, maxLatency);
+        return this;
+    }
+
+    /**
+     * @param failureRate Share of nodes reporting a failed result (e.g. timed out pings)
+     */
+    public MockCheckHostServer failureRate(final double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    /**
+     * @param messageRate Share of nodes reporting an error object, e.g. [{"message": "..."}]
+     */
+    public MockCheckHostServer messageRate(final double messageRate) {
+        this.messageRate = messageRate;
+        return this;
+    }
+
+    /**
+     * @param deadRate Share of nodes which never report
+     */
+    public MockCheckHostServer deadRate(final double deadRate) {
+        this.deadRate = deadRate;
+        return this;
+    }
+
+    /**
+     * @param errorRate Share of requests answered with HTTP 503 and an error payload
+     */
+    public MockCheckHostServer errorRate(final double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * @param seed Seed for the node outcomes of checks, the same seed and settings lead to the same sequence of checks
+     */
+    public MockCheckHostServer seed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Start the server on the given port
+     *
+     * @param port The port or 0 for a random free port
+     * @throws IOException If the server can't be bound
+     */
+    public MockCheckHostServer start(final int port) throws IOException {
+        executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), new DaemonThreadFactory("CheckHost4J Mock Server"));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * @return The root URI of the server, replacing {@link CHRequests#ROOT_URL}
+     */
+    public URI getRootURI() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * @return The amount of requests handled so far
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Wrap a requester so its requests to check-host.net are sent to this server instead
+     *
+     * @param requester The requester sending the requests
+     * @return The redirecting requester
+     */
+    public IRequester requester(final IRequester requester) {
+        return new IRequester() {
+            @Override
+            public String get(final URI target) throws Exception {
+                return requester.get(redirect(target));
+            }
+
+            @Override
+            public InputStream getStream(final URI target) throws Exception {
+                return requester.getStream(redirect(target));
+            }
+        };
+    }
+
+    private URI redirect(final URI target) {
+        final String root = CHRequests.ROOT_URL.toString();
+        final String uri = target.toString();
+        return uri.startsWith(root) ? URI.create(getRootURI() + uri.substring(root.length())) : target;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            final String path = exchange.getRequestURI().getPath();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, "{\"error\":\"service_unavailable\"}");
+            } else if (path.startsWith("/check-result/")) {
+                final MockCheck check = checks.get(path.substring("/check-result/".length()));
+                if (check == null) {
+                    respond(exchange, 404, "{\"error\":\"not_found\"}");
+                } else {
+                    respond(exchange, 200, check.result());
+                }
+            } else if (path.equals("/nodes/hosts")) {
+                respond(exchange, 200, hosts());
+            } else if (path.startsWith("/check-")) {
+                final ResultType type = type(path.substring("/check-".length()));
+                if (type == null) {
+                    respond(exchange, 404, "{\"error\":\"unknown_check\"}");
+                } else {
+                    respond(exchange, 200, submit(type, query(exchange.getRequestURI().getRawQuery())));
+                }
+            } else {
+                respond(exchange, 404, "{\"error\":\"not_found\"}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String submit(final ResultType type, final Map<String, List<String>> query) throws IOException {
+        final List<String> requested = query.get("node");
+        final List<Integer> nodes = new ArrayList<>();
+        if (requested != null) {
+            for (String name : requested) {
+                final int index = nodeIndex(name);
+                if (index >= 0) {
+                    nodes.add(index);
+                }
+            }
+        } else {
+            final List<String> maxNodes = query.get("max_nodes");
+            final int count = maxNodes == null ? nodeCount : Math.min(nodeCount, Integer.parseInt(maxNodes.get(0)));
+            for (int i = 0; i < count; i++) {
+                nodes.add(i);
+            }
+        }
+
+        final long id = nextId.incrementAndGet();
+        final String requestId = Long.toHexString(id);
+        checks.put(requestId, new MockCheck(type, nodes, new Random(seed ^ id)));
+
+        final StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("nodes").beginObject();
+            for (int index : nodes) {
+                writer.name(nodeName(index)).beginArray();
+                final int country = index % (COUNTRIES.length / 3) * 3;
+                writer.value(COUNTRIES[country]).value(COUNTRIES[country + 1]).value(COUNTRIES[country + 2]);
+                writer.value(nodeIp(index)).value(nodeAs(index));
+                writer.endArray();
+            }
+            writer.endObject();
+            writer.name("ok").value(1);
+            writer.name("permanent_link").value("https://check-host.net/check-report/" + requestId);
+            writer.name("request_id").value(requestId);
+            writer.endObject();
+        }
+        return out.toString();
+    }
+
+    private String hosts() throws IOException {
+        final StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("nodes").beginObject();
+            for (int index = 0; index < nodeCount; index++) {
+                writer.name(nodeName(index)).beginObject();
+                writer.name("asn").value(nodeAsNumber(index)); // The node list only carries the AS number
+                writer.name("ip").value(nodeIp(index));
+                final int country = index % (COUNTRIES.length / 3) * 3;
+                writer.name("location").beginArray().value(COUNTRIES[country]).value(COUNTRIES[country + 1]).value(COUNTRIES[country + 2]).endArray();
+                writer.endObject();
+            }
+            writer.endObject();
+            writer.endObject();
+        }
+        return out.toString();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, List<String>> query(final String query) throws IOException {
+        final Map<String, List<String>> parameters = new HashMap<>();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            final int split = parameter.indexOf('=');
+            if (split > 0) {
+                final String key = URLDecoder.decode(parameter.substring(0, split), "UTF-8");
+                parameters.computeIfAbsent(key, k -> new ArrayList<>()).add(URLDecoder.decode(parameter.substring(split + 1), "UTF-8"));
+            }
+        }
+        return parameters;
+    }
+
+    private static ResultType type(final String identifier) {
+        for (ResultType type : ResultType.values()) {
+            if (type.identifier().equals(identifier)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static String nodeName(final int index) {
+        return "mock" + (index + 1) + ".node.check-host.net";
+    }
+
+    private static String nodeIp(final int index) {
+        return "10.0." + (index / 256) + "." + (index % 256);
+    }
+
+    private static String nodeAs(final int index) {
+        return nodeAsNumber(index) + " Mock";
+    }
+
+    private static String nodeAsNumber(final int index) {
+        return "AS" + (64512 + index);
+    }
+
+    private int nodeIndex(final String name) {
+        if (!name.startsWith("mock") || !name.endsWith(".node.check-host.net")) {
+            return -1;
+        }
+        try {
+            final int index = Integer.parseInt(name.substring(4, name.indexOf('.'))) - 1;
+            return index >= 0 && index < nodeCount ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, FAILURE, MESSAGE, DEAD
+    }
+
+    /**
+     * A submitted check, the outcome and report time of every node is decided on submission
+     */
+    private class MockCheck {
+
+        private final ResultType type;
+        private final long created = System.currentTimeMillis();
+        private final List<Integer> nodes;
+        private final long[] reportAt;
+        private final Outcome[] outcomes;
+        private final double[] pings;
+
+        private MockCheck(final ResultType type, final List<Integer> nodes, final Random random) {
+            this.type = type;
+            this.nodes = nodes;
+            this.reportAt = new long[nodes.size()];
+            this.outcomes = new Outcome[nodes.size()];
+            this.pings = new double[nodes.size()];
+            for (int i = 0; i < nodes.size(); i++) {
+                reportAt[i] = created + minLatency + (long) (random.nextDouble() * (maxLatency - minLatency));
+                pings[i] = 0.005 + random.nextDouble() * 0.3;
+                final double roll = random.nextDouble();
+                if (roll < deadRate) {
+                    outcomes[i] = Outcome.DEAD;
+                } else if (roll < deadRate + messageRate) {
+                    outcomes[i] = Outcome.MESSAGE;
+                } else if (roll < deadRate + messageRate + failureRate) {
+                    outcomes[i] = Outcome.FAILURE;
+                } else {
+                    outcomes[i] = Outcome.SUCCESS;
+                }
+            }
+        }
+
+        private String result() throws IOException {
+            final long now = System.currentTimeMillis();
+            final StringWriter out = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(out)) {
+                writer.setSerializeNulls(true);
+                writer.beginObject();
+                for (int i = 0; i < nodes.size(); i++) {
+                    writer.name(nodeName(nodes.get(i)));
+                    if (outcomes[i] == Outcome.DEAD || now < reportAt[i]) {
+                        writer.nullValue();
+                    } else if (outcomes[i] == Outcome.MESSAGE) {
+                        writer.beginArray().beginObject().name("message").value("Mock node error").endObject().endArray();
+                    } else {
+                        writer.beginArray();
+                        writeResult(writer, outcomes[i] == Outcome.SUCCESS, pings[i]);
+                        writer.endArray();
+                    }
+                }
+                writer.endObject();
+            }
+            return out.toString();
+        }
+
+        private void writeResult(final JsonWriter writer, final boolean success, final double ping) throws IOException {
+            switch (type) {
+                case PING:
+                    writer.beginArray();
+                    for (int i = 0; i < 4; i++) {
+                        writer.beginArray().value(success ? "OK" : "TIMEOUT").value(success ? ping : 3.005);
+                        if (i == 0) {
+                            writer.value("10.255.0.1");
+                        }
+                        writer.endArray();
+                    }
+                    writer.endArray();
+                    break;
+                case HTTP:
+                    writer.beginArray().value(success ? 1 : 0).value(ping).value(success ? "OK" : "Connection timed out");
+                    writer.value(success ? "200" : null).value(success ? "10.255.0.1" : null).endArray();
+                    break;
+                case TCP:
+                case UDP:
+                    writer.beginObject();
+                    if (success) {
+                        writer.name(type == ResultType.TCP ? "time" : "ping").value(ping).name("address").value("10.255.0.1");
+                    } else {
+                        writer.name("error").value("Connection timed out");
+                    }
+                    writer.endObject();
+                    break;
+                case DNS:
+                    writer.beginObject();
+                    writer.name("A").beginArray();
+                    if (success) {
+                        writer.value("10.255.0.1");
+                    }
+                    writer.endArray();
+                    writer.name("AAAA").beginArray().endArray();
+                    if (success) {
+                        writer.name("TTL").value(300);
+                    }
+                    writer.endObject();
+                    break;
+            }
+        }
+    }
+
+}
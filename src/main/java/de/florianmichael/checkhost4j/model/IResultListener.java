@@ -0,0 +1,39 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.model;
+
+/**
+ * Listener which is called once a node of a {@link ResultNode} reported its result
+ *
+ * @param <T> The result type
+ */
+@FunctionalInterface
+public interface IResultListener<T extends Result> {
+
+    /**
+     * Called once per node after its result has been published, the call happens on the thread which ticked the results.
+     * Exceptions thrown by listeners are passed to the caller of the tick. Failed results filled in by
+     * {@link ResultNode#expireMissing()} are passed as well, use {@link ResultNode#isExpired(ServerNode)} to skip them.
+     *
+     * @param resultNode The result node the node belongs to
+     * @param node       The node which reported
+     * @param result     The result of the node
+     */
+    void onResult(final ResultNode<T> resultNode, final ServerNode node, final T result);
+
+}
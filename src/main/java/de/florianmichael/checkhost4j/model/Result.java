@@ -17,6 +17,9 @@
 
 package de.florianmichael.checkhost4j.model;
 
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Base class to share common methods for results
  */
@@ -31,6 +34,14 @@ public abstract class Result {
      */
     public abstract boolean isSuccessful();
 
+    /**
+     * Write the compact binary representation of this result, which can be read back using {@link ResultType#read(java.io.DataInput)}
+     *
+     * @param out The output
+     * @throws IOException If writing fails
+     */
+    public abstract void write(DataOutput out) throws IOException;
+
     /**
      * Get the error message if the result was not successful
      *
@@ -40,7 +51,7 @@ public abstract class Result {
         return errorMessage;
     }
 
-    void setErrorMessage(String errorMessage) {
+    protected void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
 
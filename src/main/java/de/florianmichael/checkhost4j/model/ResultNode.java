@@ -17,29 +17,67 @@
 
 package de.florianmichael.checkhost4j.model;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.florianmichael.checkhost4j.flow.ResultPublisher;
+import de.florianmichael.checkhost4j.instrument.IInstrumentation;
+import de.florianmichael.checkhost4j.instrument.Instrumentation;
+import de.florianmichael.checkhost4j.request.AsyncRequester;
+import de.florianmichael.checkhost4j.request.IAsyncRequester;
 import de.florianmichael.checkhost4j.request.IRequester;
 import de.florianmichael.checkhost4j.util.CHRequests;
+import de.florianmichael.checkhost4j.util.Futures;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+/**
+ * Holds the results of a single check. Instances are thread-safe: results are published as immutable snapshots, so
+ * {@link #getResults()} can be called from any thread without locking while another thread ticks the results.
+ *
+ * @param <T> The result type
+ */
 public class ResultNode<T extends Result> {
 
     private final IRequester requester;
+    private final IAsyncRequester asyncRequester;
 
     private final ResultType type;
+    private final String host;
     private final String requestId;
     private final List<ServerNode> nodes;
+    private final Map<String, ServerNode> nodesByName;
+
+    private final Object lock = new Object();
+    private final List<IResultListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final long created = System.nanoTime();
+    private final AtomicInteger polls = new AtomicInteger();
 
-    private final Map<ServerNode, T> results;
+    private volatile Map<ServerNode, T> results;
+    private volatile int completed;
+    private volatile Map<ServerNode, T> lastChanged = Collections.emptyMap();
+    private volatile Set<ServerNode> expired = Collections.emptySet();
+    private final AtomicReference<CompletableFuture<ResultNode<T>>> pendingTick = new AtomicReference<>();
 
     public ResultNode(IRequester requester, ResultType type, String requestId, List<ServerNode> nodes) {
+        this(requester, type, null, requestId, nodes);
+    }
+
+    public ResultNode(IRequester requester, ResultType type, String host, String requestId, List<ServerNode> nodes) {
         this.requester = requester;
+        this.asyncRequester = AsyncRequester.of(requester);
         this.type = type;
+        this.host = host;
         this.requestId = requestId;
         this.nodes = nodes;
 
@@ -47,49 +85,284 @@ public class ResultNode<T extends Result> {
          * Initialize the results map with null values
          * This map will be filled by the {@link #tickResults()} method
          */
-        this.results = new HashMap<>();
+        final Map<ServerNode, T> results = new LinkedHashMap<>();
+        this.nodesByName = new HashMap<>();
         for (ServerNode node : this.nodes) {
-            this.results.put(node, null);
+            results.put(node, null);
+            this.nodesByName.put(node.name, node);
         }
+        this.results = Collections.unmodifiableMap(results);
     }
 
     /**
      * Tick the results for this node, this will perform the check and store the
-     * result in the results map.
+     * result in the results map. The response is decoded while it's being read, without building a JSON tree.
+     * Nodes which already reported a result are final and won't be parsed again, once all nodes are final no request is sent.
      */
-    @SuppressWarnings("unchecked")
     public void tickResults() throws Exception {
-        final JsonObject response = CHRequests.checkResult(requester, requestId);
-        for (ServerNode node : nodes) {
-            if (!response.has(node.name) || !response.get(node.name).isJsonArray()) {
+        if (isComplete()) {
+            lastChanged = Collections.emptyMap();
+            return;
+        }
+        onPoll();
+        CHRequests.checkResult(requester, requestId, this::readResponse);
+    }
+
+    /**
+     * Async variant of {@link #tickResults()}, the calling thread won't be blocked while waiting for the response.
+     * Concurrent callers (e.g. multiple pollers of a shared node) share the in-flight poll instead of sending their own,
+     * every caller gets its own future so cancelling it doesn't affect the other callers.
+     *
+     * @return A future which is completed with this node once the results have been stored
+     */
+    public CompletableFuture<ResultNode<T>> tickResultsAsync() {
+        if (isComplete()) {
+            lastChanged = Collections.emptyMap();
+            return CompletableFuture.completedFuture(this);
+        }
+        while (true) {
+            final CompletableFuture<ResultNode<T>> pending = pendingTick.get();
+            if (pending != null && !pending.isDone()) {
+                return pending.thenApply(Function.identity()); // Own stage per caller, cancelling it doesn't affect the others
+            }
+            final CompletableFuture<ResultNode<T>> tick = new CompletableFuture<>();
+            if (!pendingTick.compareAndSet(pending, tick)) {
+                continue; // Another caller started a poll in the meantime
+            }
+            onPoll();
+            CHRequests.checkResultAsync(asyncRequester, requestId, reader -> {
+                readResponse(reader);
+                return this;
+            }).whenComplete((node, throwable) -> {
+                if (throwable != null) {
+                    tick.completeExceptionally(Futures.unwrap(throwable));
+                } else {
+                    tick.complete(node);
+                }
+            });
+            return tick.thenApply(Function.identity());
+        }
+    }
+
+    private void onPoll() {
+        polls.incrementAndGet();
+        Instrumentation.get().onPoll(this);
+    }
+
+    private Void readResponse(final JsonReader reader) throws Exception {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            lastChanged = Collections.emptyMap();
+            return null;
+        }
+        final Map<ServerNode, T> changed = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final ServerNode node = nodesByName.get(reader.nextName());
+            if (node == null || reader.peek() != JsonToken.BEGIN_ARRAY || isFinal(node)) {
+                reader.skipValue(); // Unknown node, not finished yet or already finished in a previous tick
                 continue;
             }
-            final JsonArray data = response.get(node.name).getAsJsonArray();
-            if (data.size() != 1 || !data.get(0).isJsonArray()) {
-                for (JsonElement element : data) {
-                    // Try to locate the error message in the response
-                    // then generate an empty response with the error message
-                    if (element.isJsonObject() && element.getAsJsonObject().has("message")) {
-                        final T emptyResponse = (T) type.convert(null);
-                        emptyResponse.setErrorMessage(element.getAsJsonObject().get("message").getAsString());
-
-                        results.put(node, emptyResponse);
-                    }
+            final T result = readResult(reader);
+            if (result != null) {
+                changed.put(node, result);
+            }
+        }
+        reader.endObject();
+        publish(changed, false);
+        return null;
+    }
+
+    /**
+     * Give every node which didn't report yet the failed result of the type (see {@link ResultType#failed()}), so the
+     * check is complete without waiting for slow or dead nodes. The filled in nodes are returned by {@link #getExpired()},
+     * results reported by these nodes afterwards are ignored.
+     * <p>
+     * Listeners are still notified about the filled in results and can tell them apart using {@link #isExpired(ServerNode)},
+     * the {@link IInstrumentation} isn't notified since the nodes never reported.
+     */
+    @SuppressWarnings("unchecked")
+    public void expireMissing() {
+        final Map<ServerNode, T> changed = new LinkedHashMap<>();
+        for (Map.Entry<ServerNode, T> entry : results.entrySet()) {
+            if (entry.getValue() == null) {
+                changed.put(entry.getKey(), (T) type.failed());
+            }
+        }
+        if (!changed.isEmpty()) {
+            publish(changed, true);
+        }
+    }
+
+    /**
+     * Merge the decoded results into a new snapshot and notify the listeners. Only the merge is locked, decoding
+     * happens without holding the lock.
+     *
+     * @param changed The decoded results
+     * @param expired True if the results have been filled in by {@link #expireMissing()}
+     */
+    private void publish(final Map<ServerNode, T> changed, final boolean expired) {
+        final boolean completedNow;
+        synchronized (lock) {
+            final Map<ServerNode, T> current = this.results;
+            // Another tick might have published the same nodes concurrently, results are final once published
+            changed.keySet().removeIf(node -> current.get(node) != null);
+
+            if (!changed.isEmpty()) {
+                final Map<ServerNode, T> results = new LinkedHashMap<>(current);
+                results.putAll(changed);
+                this.results = Collections.unmodifiableMap(results);
+                this.completed += changed.size();
+                if (expired) {
+                    final Set<ServerNode> all = new HashSet<>(this.expired);
+                    all.addAll(changed.keySet());
+                    this.expired = Collections.unmodifiableSet(all);
                 }
-                continue; // Error occurred or invalid data, skip this node
             }
-            results.put(node, (T) type.convert(data.get(0)));
+            this.lastChanged = changed.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(changed);
+            completedNow = !changed.isEmpty() && isComplete();
+        }
+        final IInstrumentation instrumentation = Instrumentation.get();
+        // Expired results are synthetic, they would skew the times to result and completion durations
+        if (instrumentation != Instrumentation.NONE && !changed.isEmpty() && !expired) {
+            final long elapsed = System.nanoTime() - created;
+            for (ServerNode node : changed.keySet()) {
+                instrumentation.onNodeResult(this, node, elapsed);
+            }
+            if (completedNow) {
+                instrumentation.onComplete(this, polls.get(), elapsed);
+            }
+        }
+        for (Map.Entry<ServerNode, T> entry : changed.entrySet()) {
+            for (IResultListener<T> listener : listeners) {
+                listener.onResult(this, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Read the result array of a single node, the first non-null element is the actual result or an error object
+     * (e.g. {"message": "..."}) which is converted into a failed result by {@link ResultType#read(JsonReader)}.
+     *
+     * @param reader The reader, positioned at the beginning of the result array
+     * @return The result or null if the node didn't report anything yet
+     */
+    @SuppressWarnings("unchecked")
+    private T readResult(final JsonReader reader) throws Exception {
+        T result = null;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (result == null && reader.peek() != JsonToken.NULL) {
+                result = (T) type.read(reader);
+            } else {
+                reader.skipValue();
+            }
         }
+        reader.endArray();
+        return result;
+    }
+
+    /**
+     * Add a listener which is called once per node as soon as the node reported its result
+     *
+     * @param listener The listener
+     */
+    public void addListener(final IResultListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final IResultListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stream the results of this node as they arrive with backpressure, this node still has to be ticked by the caller.
+     * Subscribers are completed once all nodes reported, see {@link ResultPublisher}.
+     *
+     * @return A publisher emitting every node once it reported its result
+     */
+    public ResultPublisher<T> publisher() {
+        return new ResultPublisher<>(this);
     }
 
     /**
      * @return Gets the results for all nodes, this list has to be ticked before using the {@link #tickResults()} method,
-     * otherwise the results of all nodes will be null.
+     * otherwise the results of all nodes will be null. The returned map is an immutable snapshot which won't change
+     * on further ticks.
      */
     public Map<ServerNode, T> getResults() {
         return results;
     }
 
+    /**
+     * @return The nodes which reported their result in the last tick, empty if the last tick didn't bring new results
+     */
+    public Map<ServerNode, T> getLastChanged() {
+        return lastChanged;
+    }
+
+    /**
+     * @param node The node
+     * @return True if the node already reported a result, which won't change anymore
+     */
+    public boolean isFinal(final ServerNode node) {
+        return results.get(node) != null;
+    }
+
+    /**
+     * @return The nodes whose result has been filled in by {@link #expireMissing()} instead of being reported
+     */
+    public Set<ServerNode> getExpired() {
+        return expired;
+    }
+
+    /**
+     * @param node The node
+     * @return True if the result of the node has been filled in by {@link #expireMissing()}
+     */
+    public boolean isExpired(final ServerNode node) {
+        return expired.contains(node);
+    }
+
+    /**
+     * @return The amount of nodes which already reported a result
+     */
+    public int getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * @return The amount of polls sent for this node so far
+     */
+    public int getPollCount() {
+        return polls.get();
+    }
+
+    /**
+     * @return The time in nanoseconds since this node has been created, which is roughly the time since the check has been submitted
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - created;
+    }
+
+    /**
+     * @return True if every node reported a result, further ticks won't change the results anymore
+     */
+    public boolean isComplete() {
+        return completed == results.size();
+    }
+
+    /**
+     * @return The checked host or null if the node has been created without one
+     */
+    public String getHost() {
+        return host;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
     public ResultType getType() {
         return type;
     }
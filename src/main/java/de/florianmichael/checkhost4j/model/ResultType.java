@@ -18,32 +18,65 @@
 package de.florianmichael.checkhost4j.model;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import de.florianmichael.checkhost4j.instrument.IInstrumentation;
+import de.florianmichael.checkhost4j.instrument.Instrumentation;
 import de.florianmichael.checkhost4j.model.result.*;
 import de.florianmichael.checkhost4j.util.TFunction;
 
+import java.io.DataInput;
 import java.util.function.Supplier;
 
 @SuppressWarnings("rawtypes")
 public enum ResultType {
 
-    PING("ping", "Ping", response -> PingResult.of(response.getAsJsonArray()), () -> PingResult.FAILED),
-    HTTP("http", "HTTP", response -> HTTPResult.of(response.getAsJsonArray()), () -> HTTPResult.FAILED),
-    TCP("tcp", "TCP port", response -> TCPResult.of(response.getAsJsonObject()), () -> TCPResult.FAILED),
-    UDP("udp", "UDP port", response -> UDPResult.of(response.getAsJsonObject()), () -> UDPResult.FAILED),
-    DNS("dns", "DNS", response -> DNSResult.of(response.getAsJsonObject()), () -> DNSResult.FAILED);
+    PING(0, "ping", "Ping", response -> PingResult.of(response.getAsJsonArray()), PingResult::read, PingResult::read, () -> PingResult.FAILED),
+    HTTP(1, "http", "HTTP", response -> HTTPResult.of(response.getAsJsonArray()), HTTPResult::read, HTTPResult::read, () -> HTTPResult.FAILED),
+    TCP(2, "tcp", "TCP port", response -> TCPResult.of(response.getAsJsonObject()), TCPResult::read, TCPResult::read, () -> TCPResult.FAILED),
+    UDP(3, "udp", "UDP port", response -> UDPResult.of(response.getAsJsonObject()), UDPResult::read, UDPResult::read, () -> UDPResult.FAILED),
+    DNS(4, "dns", "DNS", response -> DNSResult.of(response.getAsJsonObject()), DNSResult::read, DNSResult::read, () -> DNSResult.FAILED);
 
+    private final int tag;
     private final String identifier;
     private final String displayName;
     private final TFunction<JsonElement, Result> jsonToResult;
+    private final TFunction<JsonReader, Result> readerToResult;
+    private final TFunction<DataInput, Result> binaryToResult;
     private final Supplier<Result> failed;
 
-    ResultType(String identifier, String displayName, TFunction<JsonElement, Result> jsonToResult, Supplier<Result> failed) {
+    ResultType(int tag, String identifier, String displayName, TFunction<JsonElement, Result> jsonToResult, TFunction<JsonReader, Result> readerToResult, TFunction<DataInput, Result> binaryToResult, Supplier<Result> failed) {
+        this.tag = tag;
         this.identifier = identifier;
         this.displayName = displayName;
         this.jsonToResult = jsonToResult;
+        this.readerToResult = readerToResult;
+        this.binaryToResult = binaryToResult;
         this.failed = failed;
     }
 
+    /**
+     * Stable tag of the type in binary formats (e.g. the {@link de.florianmichael.checkhost4j.codec.ResultEncoder}), unlike
+     * the ordinal it never changes when types are added or reordered
+     *
+     * @return The tag
+     */
+    public int tag() {
+        return tag;
+    }
+
+    /**
+     * @param tag The tag, see {@link #tag()}
+     * @return The type with the given tag or null if the tag is unknown
+     */
+    public static ResultType byTag(final int tag) {
+        for (ResultType type : values()) {
+            if (type.tag == tag) {
+                return type;
+            }
+        }
+        return null;
+    }
+
     /**
      * Identifier for the official web API, only used for the API requests
      *
@@ -71,10 +104,53 @@ public enum ResultType {
      */
     public Result convert(final JsonElement response) throws Exception {
         if (response == null) {
-            return failed.get(); // Ensure new instance for each call
-        } else {
+            return failed();
+        }
+        final IInstrumentation instrumentation = Instrumentation.get();
+        if (instrumentation == Instrumentation.NONE) {
             return jsonToResult.apply(response);
         }
+        final long start = System.nanoTime();
+        final Result result = jsonToResult.apply(response);
+        instrumentation.onConvert(this, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * @return The failed result of this type, same as {@link #convert(JsonElement)} for a null response
+     */
+    public Result failed() {
+        return failed.get();
+    }
+
+    /**
+     * Read a result object of this type directly from the given reader, without building a JSON tree first.
+     * Error objects (e.g. {"message": "..."}) are converted into a failed result with the error message set.
+     *
+     * @param reader The reader, positioned at the beginning of the result
+     * @return The result object
+     * @throws Exception If the conversion fails
+     */
+    public Result read(final JsonReader reader) throws Exception {
+        final IInstrumentation instrumentation = Instrumentation.get();
+        if (instrumentation == Instrumentation.NONE) {
+            return readerToResult.apply(reader);
+        }
+        final long start = System.nanoTime();
+        final Result result = readerToResult.apply(reader);
+        instrumentation.onConvert(this, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Read a result object of this type from its binary representation, see {@link Result#write(java.io.DataOutput)}
+     *
+     * @param in The input
+     * @return The result object
+     * @throws Exception If reading fails
+     */
+    public Result read(final DataInput in) throws Exception {
+        return binaryToResult.apply(in);
     }
 
 }
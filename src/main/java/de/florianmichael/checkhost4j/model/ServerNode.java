@@ -18,7 +18,14 @@
 package de.florianmichael.checkhost4j.model;
 
 import com.google.gson.JsonArray;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 public class ServerNode {
@@ -55,4 +62,113 @@ public class ServerNode {
         return new ServerNode(name, data.get(0).getAsString(), data.get(1).getAsString(), data.get(2).getAsString(), data.get(3).getAsString(), data.get(4).getAsString());
     }
 
+    /**
+     * Streaming variant of {@link #of(String, JsonArray)}, reads the data array directly from the given reader.
+     *
+     * @param name   The name of the server
+     * @param reader The reader, positioned at the beginning of the data array
+     * @return The new {@link ServerNode} instance
+     * @throws IOException If the JSON is malformed
+     */
+    public static ServerNode read(final String name, final JsonReader reader) throws IOException {
+        final String[] data = new String[EXPECTED_SIZE];
+        int size = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            final String value = nextOptString(reader);
+            if (size < EXPECTED_SIZE) {
+                data[size] = value;
+            }
+            size++;
+        }
+        reader.endArray();
+        if (size != EXPECTED_SIZE) {
+            throw new IllegalStateException("Expected " + EXPECTED_SIZE + " elements, got: " + size);
+        }
+
+        return new ServerNode(name, data[0], data[1], data[2], data[3], data[4]);
+    }
+
+    /**
+     * Read a node from the object format of the node list (e.g. {"asn": "AS...", "ip": "...", "location": ["de", "Germany", "Frankfurt"]}),
+     * see {@link de.florianmichael.checkhost4j.util.CHRequests#nodesURI()}
+     *
+     * @param name   The name of the server
+     * @param reader The reader, positioned at the beginning of the data object
+     * @return The new {@link ServerNode} instance
+     * @throws IOException If the JSON is malformed
+     */
+    public static ServerNode readHost(final String name, final JsonReader reader) throws IOException {
+        final String[] location = new String[3];
+        String ip = null;
+        String asName = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if (key.equals("location") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                int size = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final String value = nextOptString(reader);
+                    if (size < location.length) {
+                        location[size++] = value;
+                    }
+                }
+                reader.endArray();
+            } else if (key.equals("ip")) {
+                ip = nextOptString(reader);
+            } else if (key.equals("asn")) {
+                asName = nextOptString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new ServerNode(name, location[0], location[1], location[2], ip, asName);
+    }
+
+    /**
+     * Combine this node with newer data of the same node, fields missing in the update are kept. The node list only
+     * carries the AS number (e.g. "AS24940") while check responses carry the number and name (e.g. "AS24940 Hetzner
+     * Online GmbH"), so the longer AS name is kept as long as the number matches.
+     *
+     * @param update The newer data of this node
+     * @return The combined node
+     */
+    ServerNode merge(final ServerNode update) {
+        final String asName = update.asName == null || (this.asName != null && this.asName.startsWith(update.asName + " ")) ? this.asName : update.asName;
+        return new ServerNode(name, or(update.countryCode, countryCode), or(update.country, country), or(update.city, city), or(update.ip, ip), asName);
+    }
+
+    private static String or(final String value, final String fallback) {
+        return value != null ? value : fallback;
+    }
+
+    /**
+     * Read a node from its binary representation, see {@link #write(DataOutput)}
+     *
+     * @param in The input
+     * @return The new {@link ServerNode} instance
+     * @throws IOException If reading fails
+     */
+    public static ServerNode read(final DataInput in) throws IOException {
+        return new ServerNode(in.readUTF(), readOptString(in), readOptString(in), readOptString(in), readOptString(in), readOptString(in));
+    }
+
+    /**
+     * Write the compact binary representation of this node
+     *
+     * @param out The output
+     * @throws IOException If writing fails
+     */
+    public void write(final DataOutput out) throws IOException {
+        out.writeUTF(name);
+        writeOptString(out, countryCode);
+        writeOptString(out, country);
+        writeOptString(out, city);
+        writeOptString(out, ip);
+        writeOptString(out, asName);
+    }
+
 }
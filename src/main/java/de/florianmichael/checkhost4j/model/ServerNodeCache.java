@@ -0,0 +1,161 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.model;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of {@link ServerNode} instances keyed by their name. The set of check-host nodes barely changes, so every node is
+ * represented by one shared instance which is only parsed again after the TTL expired. Since instances are shared,
+ * {@link ServerNode}s of different checks can be compared by identity.
+ * <p>
+ * Nodes of the node list and of check responses share the cache, data of both formats is merged (see
+ * {@link ServerNode#merge(ServerNode)}) so the AS name of a node doesn't depend on which response has been read first.
+ */
+public class ServerNodeCache {
+
+    public static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(1);
+
+    private final long ttl;
+    private final Map<String, Entry> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttl The time in milliseconds after which a node is parsed again
+     */
+    public ServerNodeCache(final long ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Read a node from the given reader, if a fresh instance with the same name is cached the data is skipped and the
+     * cached instance is returned. Stale nodes and nodes only known from the node list are parsed again and only replaced
+     * if their data changed.
+     *
+     * @param name   The name of the node
+     * @param reader The reader, positioned at the beginning of the data array
+     * @return The shared instance
+     * @throws IOException If the JSON is malformed
+     */
+    public ServerNode read(final String name, final JsonReader reader) throws IOException {
+        final long now = System.currentTimeMillis();
+        final Entry cached = nodes.get(name);
+        if (cached != null && cached.complete && now - cached.refreshed < ttl) {
+            reader.skipValue();
+            return cached.node;
+        }
+
+        return put(ServerNode.read(name, reader), cached, now, true);
+    }
+
+    /**
+     * Variant of {@link #read(String, JsonReader)} for the object format of the node list, see {@link ServerNode#readHost(String, JsonReader)}
+     *
+     * @param name   The name of the node
+     * @param reader The reader, positioned at the beginning of the data object
+     * @return The shared instance
+     * @throws IOException If the JSON is malformed
+     */
+    public ServerNode readHost(final String name, final JsonReader reader) throws IOException {
+        final long now = System.currentTimeMillis();
+        final Entry cached = nodes.get(name);
+        if (cached != null && now - cached.refreshed < ttl) {
+            reader.skipValue();
+            return cached.node;
+        }
+        return put(ServerNode.readHost(name, reader), cached, now, false);
+    }
+
+    /**
+     * @param complete True if the node has been read from a check response, which carries the full AS name
+     */
+    private ServerNode put(final ServerNode parsed, final Entry cached, final long now, final boolean complete) {
+        if (cached == null) {
+            nodes.put(parsed.name, new Entry(parsed, now, complete));
+            return parsed;
+        }
+        final ServerNode node = cached.node.merge(parsed);
+        // The full AS name stays known as long as the merge kept it
+        final boolean merged = complete || (cached.complete && Objects.equals(node.asName, cached.node.asName));
+        if (sameData(cached.node, node)) {
+            cached.refreshed = now;
+            cached.complete = merged;
+            return cached.node;
+        }
+        nodes.put(node.name, new Entry(node, now, merged));
+        return node;
+    }
+
+    /**
+     * @param name The name of the node
+     * @return The cached instance or null if the node isn't cached, ignoring the TTL
+     */
+    public ServerNode get(final String name) {
+        final Entry entry = nodes.get(name);
+        return entry == null ? null : entry.node;
+    }
+
+    /**
+     * @return All nodes which have been seen so far
+     */
+    public Collection<ServerNode> getNodes() {
+        final List<ServerNode> nodes = new ArrayList<>(this.nodes.size());
+        for (Entry entry : this.nodes.values()) {
+            nodes.add(entry.node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Remove all cached nodes, they will be parsed again on the next request
+     */
+    public void invalidate() {
+        nodes.clear();
+    }
+
+    public long getTTL() {
+        return ttl;
+    }
+
+    private static boolean sameData(final ServerNode a, final ServerNode b) {
+        return Objects.equals(a.countryCode, b.countryCode) && Objects.equals(a.country, b.country) && Objects.equals(a.city, b.city)
+                && Objects.equals(a.ip, b.ip) && Objects.equals(a.asName, b.asName);
+    }
+
+    private static class Entry {
+
+        private final ServerNode node;
+        private volatile boolean complete;
+        private volatile long refreshed;
+
+        private Entry(final ServerNode node, final long refreshed, final boolean complete) {
+            this.node = node;
+            this.refreshed = refreshed;
+            this.complete = complete;
+        }
+    }
+
+}
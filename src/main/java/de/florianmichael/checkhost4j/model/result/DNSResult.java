@@ -20,11 +20,19 @@ package de.florianmichael.checkhost4j.model.result;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import de.florianmichael.checkhost4j.model.Result;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 /**
@@ -61,6 +69,72 @@ public class DNSResult extends Result {
 		return new DNSResult(getOptInt(data, "TTL", -1), domains);
 	}
 
+	public static DNSResult read(final JsonReader reader) throws IOException {
+		final Map<String, String[]> domains = new HashMap<>();
+		int ttl = -1;
+		String message = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String key = reader.nextName();
+			if (key.equals("TTL")) {
+				ttl = nextInt(reader);
+			} else if (key.equals("message") && reader.peek() == JsonToken.STRING) {
+				message = reader.nextString();
+			} else if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+				final List<String> addresses = new ArrayList<>();
+				reader.beginArray();
+				while (reader.hasNext()) {
+					final JsonToken token = reader.peek();
+					if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+						addresses.add(nextOptString(reader));
+					} else {
+						reader.skipValue();
+						addresses.add(null);
+					}
+				}
+				reader.endArray();
+				domains.put(key, addresses.toArray(new String[0]));
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		final DNSResult result = new DNSResult(message != null ? FAILED.ttl : ttl, domains);
+		result.setErrorMessage(message);
+		return result;
+	}
+
+	public static DNSResult read(final DataInput in) throws IOException {
+		final int ttl = in.readInt();
+		final int size = in.readInt();
+		final Map<String, String[]> domains = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			final String key = in.readUTF();
+			final String[] addresses = new String[in.readInt()];
+			for (int k = 0; k < addresses.length; k++) {
+				addresses[k] = readOptString(in);
+			}
+			domains.put(key, addresses);
+		}
+		final DNSResult result = new DNSResult(ttl, domains);
+		result.setErrorMessage(readOptString(in));
+		return result;
+	}
+
+	@Override
+	public void write(final DataOutput out) throws IOException {
+		out.writeInt(ttl);
+		out.writeInt(result.size());
+		for (Map.Entry<String, String[]> entry : result.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeInt(entry.getValue().length);
+			for (String address : entry.getValue()) {
+				writeOptString(out, address);
+			}
+		}
+		writeOptString(out, getErrorMessage());
+	}
+
 	@Override
 	public boolean isSuccessful() {
 		return ttl >= 0;
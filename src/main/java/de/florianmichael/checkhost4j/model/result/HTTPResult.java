@@ -18,8 +18,15 @@
 package de.florianmichael.checkhost4j.model.result;
 
 import com.google.gson.JsonArray;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import de.florianmichael.checkhost4j.model.Result;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 /**
@@ -56,6 +63,43 @@ public class HTTPResult extends Result {
 		return new HTTPResult(statusCode, ping, status, -1, null);
 	}
 
+	public static HTTPResult read(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+			return failed(nextMessage(reader));
+		}
+		reader.beginArray();
+		final int statusCode = nextInt(reader);
+		final double ping = nextDouble(reader);
+		final String status = nextOptString(reader);
+		final int error = reader.hasNext() ? nextInt(reader) : -1;
+		final String address = error != -1 && reader.hasNext() ? nextOptString(reader) : null;
+		skipRemaining(reader);
+		reader.endArray();
+		return new HTTPResult(statusCode, ping, status, error, address);
+	}
+
+	public static HTTPResult read(final DataInput in) throws IOException {
+		final HTTPResult result = new HTTPResult(in.readInt(), in.readDouble(), readOptString(in), in.readInt(), readOptString(in));
+		result.setErrorMessage(readOptString(in));
+		return result;
+	}
+
+	@Override
+	public void write(final DataOutput out) throws IOException {
+		out.writeInt(statusCode);
+		out.writeDouble(ping);
+		writeOptString(out, status);
+		out.writeInt(errorCode);
+		writeOptString(out, address);
+		writeOptString(out, getErrorMessage());
+	}
+
+	private static HTTPResult failed(final String message) {
+		final HTTPResult result = new HTTPResult(FAILED.statusCode, FAILED.ping, FAILED.status, FAILED.errorCode, FAILED.address);
+		result.setErrorMessage(message);
+		return result;
+	}
+
 	@Override
 	public boolean isSuccessful() {
 		return statusCode == 1;
@@ -19,35 +19,158 @@ package de.florianmichael.checkhost4j.model.result;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import de.florianmichael.checkhost4j.model.Result;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 /**
  * Wrapper class file for DNS results, see <a href="https://check-host.net/about/api">CheckHost API specification</a> for more information
+ * <p>
+ * Entries are stored column-wise (ping times, byte coded status, addresses) and all statistics are computed once while
+ * constructing the result, so the getters neither iterate nor allocate. {@link PingEntry} objects are only created on the
+ * first access of {@link #pingEntries} and reused afterwards, use the indexed getters (e.g. {@link #getPing(int)}) to
+ * avoid creating them at all.
  */
 public class PingResult extends Result {
 
-    public static final PingResult FAILED = new PingResult(Collections.singletonList(PingEntry.FAILED));
+    private static final byte STATUS_OK = 0;
+    private static final byte STATUS_TIMEOUT = 1;
+    private static final byte STATUS_MALFORMED = 2;
+    private static final byte STATUS_OTHER = 3;
+
+    public static final PingResult FAILED = new Builder().add(PingEntry.FAILED.status, PingEntry.FAILED.ping, PingEntry.FAILED.address).build();
 
     public final List<PingEntry> pingEntries;
 
-    private PingResult(List<PingEntry> pingEntries) {
-        this.pingEntries = pingEntries;
+    private final int size;
+    private final double[] pings;
+    private final byte[] statuses;
+    private final String[] otherStatuses; // Only allocated if a status isn't known
+    private final String[] addresses; // Only allocated if an entry has an address
+
+    private final double lowestPing;
+    private final double averagePing;
+    private final double highestPing;
+    private final int successfulPings;
+
+    private PingResult(final int size, final double[] pings, final byte[] statuses, final String[] otherStatuses, final String[] addresses) {
+        this.size = size;
+        this.pings = pings;
+        this.statuses = statuses;
+        this.otherStatuses = otherStatuses;
+        this.addresses = addresses;
+        this.pingEntries = new EntryView();
+
+        double lowest = Double.POSITIVE_INFINITY;
+        double highest = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        int successful = 0;
+        for (int i = 0; i < size; i++) {
+            final double ping = pings[i];
+            lowest = Math.min(lowest, ping);
+            highest = Math.max(highest, ping);
+            sum += ping;
+            if (isSuccessful(i)) {
+                successful++;
+            }
+        }
+        this.lowestPing = size == 0 ? -1 : lowest;
+        this.highestPing = size == 0 ? -1 : highest;
+        this.averagePing = size == 0 ? -1 : sum / size;
+        this.successfulPings = successful;
     }
 
     public static PingResult of(final JsonArray data) {
-        final List<PingEntry> entries = new ArrayList<>();
+        final Builder builder = new Builder();
         for (JsonElement element : data) {
             if (element.isJsonArray()) {
-                entries.add(PingEntry.of(element.getAsJsonArray()));
+                final JsonArray entry = element.getAsJsonArray();
+                checkPrimitives(entry);
+                builder.add(entry.get(0).getAsString(), getDouble(entry.get(1)), getOptString(entry, 2));
+            }
+        }
+        return builder.build();
+    }
+
+    public static PingResult read(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            return failed(nextMessage(reader));
+        }
+        final Builder builder = new Builder();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                final String status = nextOptString(reader);
+                final double ping = nextDouble(reader);
+                final String address = reader.hasNext() ? nextOptString(reader) : null;
+                skipRemaining(reader);
+                reader.endArray();
+                builder.add(status, ping, address);
+            } else {
+                reader.skipValue();
             }
         }
-        return new PingResult(entries);
+        reader.endArray();
+        return builder.build();
+    }
+
+    public static PingResult read(final DataInput in) throws IOException {
+        final int size = in.readInt();
+        final double[] pings = new double[size];
+        final byte[] statuses = new byte[size];
+        String[] otherStatuses = null;
+        String[] addresses = null;
+        for (int i = 0; i < size; i++) {
+            pings[i] = in.readDouble();
+            statuses[i] = in.readByte();
+            if (statuses[i] == STATUS_OTHER) {
+                if (otherStatuses == null) {
+                    otherStatuses = new String[size];
+                }
+                otherStatuses[i] = readOptString(in);
+            }
+            final String address = readOptString(in);
+            if (address != null) {
+                if (addresses == null) {
+                    addresses = new String[size];
+                }
+                addresses[i] = address;
+            }
+        }
+        final PingResult result = new PingResult(size, pings, statuses, otherStatuses, addresses);
+        result.setErrorMessage(readOptString(in));
+        return result;
+    }
+
+    @Override
+    public void write(final DataOutput out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeDouble(pings[i]);
+            out.writeByte(statuses[i]);
+            if (statuses[i] == STATUS_OTHER) {
+                writeOptString(out, otherStatuses[i]);
+            }
+            writeOptString(out, getAddress(i));
+        }
+        writeOptString(out, getErrorMessage());
+    }
+
+    private static PingResult failed(final String message) {
+        final PingResult result = new PingResult(FAILED.size, FAILED.pings, FAILED.statuses, FAILED.otherStatuses, FAILED.addresses);
+        result.setErrorMessage(message);
+        return result;
     }
 
     /**
@@ -56,7 +179,7 @@ public class PingResult extends Result {
      * @return the lowest ping time
      */
     public double getLowestPing() {
-        return pingEntries.stream().mapToDouble(entry -> entry.ping).min().orElse(-1);
+        return lowestPing;
     }
 
     /**
@@ -65,7 +188,7 @@ public class PingResult extends Result {
      * @return the average ping time
      */
     public double getAveragePing() {
-        return pingEntries.stream().mapToDouble(entry -> entry.ping).average().orElse(-1);
+        return averagePing;
     }
 
     /**
@@ -74,7 +197,7 @@ public class PingResult extends Result {
      * @return the highest ping time
      */
     public double getHighestPing() {
-        return pingEntries.stream().mapToDouble(entry -> entry.ping).max().orElse(-1);
+        return highestPing;
     }
 
     /**
@@ -83,7 +206,7 @@ public class PingResult extends Result {
      * @return the number of successful pings
      */
     public int getSuccessfulPings() {
-        return (int) pingEntries.stream().filter(PingEntry::isSuccessful).count();
+        return successfulPings;
     }
 
     /**
@@ -92,16 +215,152 @@ public class PingResult extends Result {
      * @return the number of failed pings
      */
     public int getFailedPings() {
-        return (int) pingEntries.stream().filter(entry -> !entry.isSuccessful()).count();
+        return size - successfulPings;
     }
 
     public int getTotalPings() {
-        return pingEntries.size();
+        return size;
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The ping time of the entry
+     */
+    public double getPing(final int index) {
+        checkIndex(index);
+        return pings[index];
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The status of the entry (e.g. OK, TIMEOUT)
+     */
+    public String getStatus(final int index) {
+        checkIndex(index);
+        switch (statuses[index]) {
+            case STATUS_OK:
+                return "OK";
+            case STATUS_TIMEOUT:
+                return "TIMEOUT";
+            case STATUS_MALFORMED:
+                return "MALFORMED";
+            default:
+                return otherStatuses[index];
+        }
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return The address of the entry or null if not present
+     */
+    public String getAddress(final int index) {
+        checkIndex(index);
+        return addresses == null ? null : addresses[index];
+    }
+
+    /**
+     * @param index The index of the entry
+     * @return True if the entry has the status OK and a ping higher/equal 0
+     */
+    public boolean isSuccessful(final int index) {
+        checkIndex(index);
+        if (pings[index] < 0) {
+            return false;
+        }
+        return statuses[index] == STATUS_OK || (statuses[index] == STATUS_OTHER && otherStatuses[index] != null && otherStatuses[index].equalsIgnoreCase("OK"));
     }
 
     @Override
     public boolean isSuccessful() {
-        return getFailedPings() == 0;
+        return successfulPings == size;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * List view creating all {@link PingEntry} objects on the first access, so every access returns the same instances
+     */
+    private class EntryView extends AbstractList<PingEntry> {
+
+        private volatile PingEntry[] entries;
+
+        @Override
+        public PingEntry get(final int index) {
+            checkIndex(index);
+            PingEntry[] entries = this.entries;
+            if (entries == null) {
+                entries = create();
+            }
+            return entries[index];
+        }
+
+        private synchronized PingEntry[] create() {
+            if (entries == null) {
+                final PingEntry[] entries = new PingEntry[size];
+                for (int i = 0; i < size; i++) {
+                    entries[i] = new PingEntry(getStatus(i), getPing(i), getAddress(i));
+                }
+                this.entries = entries;
+            }
+            return entries;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class Builder {
+
+        private int size;
+        private double[] pings = new double[4];
+        private byte[] statuses = new byte[4];
+        private String[] otherStatuses;
+        private String[] addresses;
+
+        private Builder add(final String status, final double ping, final String address) {
+            if (size == pings.length) {
+                pings = Arrays.copyOf(pings, size * 2);
+                statuses = Arrays.copyOf(statuses, size * 2);
+                if (otherStatuses != null) {
+                    otherStatuses = Arrays.copyOf(otherStatuses, size * 2);
+                }
+                if (addresses != null) {
+                    addresses = Arrays.copyOf(addresses, size * 2);
+                }
+            }
+            pings[size] = ping;
+            if ("OK".equals(status)) {
+                statuses[size] = STATUS_OK;
+            } else if ("TIMEOUT".equals(status)) {
+                statuses[size] = STATUS_TIMEOUT;
+            } else if ("MALFORMED".equals(status)) {
+                statuses[size] = STATUS_MALFORMED;
+            } else {
+                statuses[size] = STATUS_OTHER;
+                if (otherStatuses == null) {
+                    otherStatuses = new String[pings.length];
+                }
+                otherStatuses[size] = status;
+            }
+            if (address != null) {
+                if (addresses == null) {
+                    addresses = new String[pings.length];
+                }
+                addresses[size] = address;
+            }
+            size++;
+            return this;
+        }
+
+        private PingResult build() {
+            return new PingResult(size, pings, statuses, otherStatuses, addresses);
+        }
     }
 
     public static class PingEntry {
@@ -123,6 +382,16 @@ public class PingResult extends Result {
             return new PingEntry(data.get(0).getAsString(), getDouble(data.get(1)), getOptString(data, 2));
         }
 
+        public static PingEntry read(final JsonReader reader) throws IOException {
+            reader.beginArray();
+            final String status = nextOptString(reader);
+            final double ping = nextDouble(reader);
+            final String address = reader.hasNext() ? nextOptString(reader) : null;
+            skipRemaining(reader);
+            reader.endArray();
+            return new PingEntry(status, ping, address);
+        }
+
         public boolean isSuccessful() {
             return status != null && status.equalsIgnoreCase("OK") && ping >= 0;
         }
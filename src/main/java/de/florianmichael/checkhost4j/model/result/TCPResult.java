@@ -18,8 +18,14 @@
 package de.florianmichael.checkhost4j.model.result;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import de.florianmichael.checkhost4j.model.Result;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 /**
@@ -43,6 +49,53 @@ public class TCPResult extends Result {
 		return new TCPResult(getOptDouble(data, "time", 0), getOptString(data, "address"), getOptString(data, "error"));
 	}
 
+	public static TCPResult read(final JsonReader reader) throws IOException {
+		double ping = 0;
+		String address = null;
+		String error = null;
+		String message = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "time":
+					ping = nextOptDouble(reader, 0);
+					break;
+				case "address":
+					address = nextOptString(reader);
+					break;
+				case "error":
+					error = nextOptString(reader);
+					break;
+				case "message":
+					message = nextOptString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		if (message != null) {
+			final TCPResult result = new TCPResult(FAILED.ping, FAILED.address, FAILED.error);
+			result.setErrorMessage(message);
+			return result;
+		}
+		return new TCPResult(ping, address, error);
+	}
+
+	public static TCPResult read(final DataInput in) throws IOException {
+		final TCPResult result = new TCPResult(in.readDouble(), readOptString(in), readOptString(in));
+		result.setErrorMessage(readOptString(in));
+		return result;
+	}
+
+	@Override
+	public void write(final DataOutput out) throws IOException {
+		out.writeDouble(ping);
+		writeOptString(out, address);
+		writeOptString(out, error);
+		writeOptString(out, getErrorMessage());
+	}
+
 	@Override
 	public boolean isSuccessful() {
 		return error == null;
@@ -18,8 +18,14 @@
 package de.florianmichael.checkhost4j.model.result;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import de.florianmichael.checkhost4j.model.Result;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
 import static de.florianmichael.checkhost4j.util.JsonParser.*;
 
 /**
@@ -45,6 +51,58 @@ public class UDPResult extends Result {
 		return new UDPResult(getOptDouble(data, "timeout", 0), getOptDouble(data, "ping", 0), getOptString(data, "address"), getOptString(data, "error"));
 	}
 
+	public static UDPResult read(final JsonReader reader) throws IOException {
+		double timeout = 0;
+		double ping = 0;
+		String address = null;
+		String error = null;
+		String message = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "timeout":
+					timeout = nextOptDouble(reader, 0);
+					break;
+				case "ping":
+					ping = nextOptDouble(reader, 0);
+					break;
+				case "address":
+					address = nextOptString(reader);
+					break;
+				case "error":
+					error = nextOptString(reader);
+					break;
+				case "message":
+					message = nextOptString(reader);
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		if (message != null) {
+			final UDPResult result = new UDPResult(FAILED.timeout, FAILED.ping, FAILED.address, FAILED.error);
+			result.setErrorMessage(message);
+			return result;
+		}
+		return new UDPResult(timeout, ping, address, error);
+	}
+
+	public static UDPResult read(final DataInput in) throws IOException {
+		final UDPResult result = new UDPResult(in.readDouble(), in.readDouble(), readOptString(in), readOptString(in));
+		result.setErrorMessage(readOptString(in));
+		return result;
+	}
+
+	@Override
+	public void write(final DataOutput out) throws IOException {
+		out.writeDouble(timeout);
+		out.writeDouble(ping);
+		writeOptString(out, address);
+		writeOptString(out, error);
+		writeOptString(out, getErrorMessage());
+	}
+
 	@Override
 	public boolean isSuccessful() {
 		return error == null;
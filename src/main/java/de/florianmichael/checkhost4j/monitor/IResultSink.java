@@ -0,0 +1,46 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.monitor;
+
+import de.florianmichael.checkhost4j.model.ResultNode;
+
+/**
+ * Receiver of the completed checks of a {@link MonitorService}, e.g. writing them into a
+ * {@link de.florianmichael.checkhost4j.store.ResultStore} or alerting on failures. Sinks are called from the polling
+ * threads, so they have to be thread-safe and shouldn't block.
+ */
+public interface IResultSink {
+
+    /**
+     * Called once a check finished polling, either because all nodes reported or because the poll timeout passed
+     *
+     * @param target     The monitored target
+     * @param resultNode The polled check
+     */
+    void onResult(MonitorTarget target, ResultNode<?> resultNode);
+
+    /**
+     * Called if a check couldn't be submitted or polled
+     *
+     * @param target The monitored target
+     * @param error  The error
+     */
+    default void onError(MonitorTarget target, Throwable error) {
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.monitor;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.poll.PollScheduler;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.Futures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the checks of registered {@link MonitorTarget}s periodically and hands every completed check to the registered
+ * {@link IResultSink}s. All targets share a single timer thread which only submits the checks, polling is done by a
+ * {@link PollScheduler}, so thousands of targets don't need a thread each.
+ * <p>
+ * The first run of a target is delayed by a random offset within its interval and every following run by a small random
+ * jitter, so targets registered at the same time don't fire in bursts. Runs of a target which already has the maximum
+ * amount of checks in flight are skipped.
+ */
+public class MonitorService {
+
+    private final CheckHost4J checkHost;
+    private final PollScheduler scheduler;
+    private final ScheduledExecutorService timer;
+    private final double jitter;
+
+    private final Map<MonitorTarget, TargetState> targets = new ConcurrentHashMap<>();
+    private final List<IResultSink> sinks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a service polling using the {@link PollScheduler#INSTANCE} with a jitter of 10% of the interval
+     *
+     * @param checkHost The instance submitting the checks
+     */
+    public MonitorService(final CheckHost4J checkHost) {
+        this(checkHost, PollScheduler.INSTANCE, Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("CheckHost4J Monitor")), 0.1);
+    }
+
+    /**
+     * @param checkHost The instance submitting the checks
+     * @param scheduler The scheduler polling the checks
+     * @param timer     The executor firing the runs, only used to submit checks
+     * @param jitter    The maximum random delay of a run as fraction of the interval of its target (e.g. 0.1 for 10%)
+     */
+    public MonitorService(final CheckHost4J checkHost, final PollScheduler scheduler, final ScheduledExecutorService timer, final double jitter) {
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Jitter has to be between 0 and 1, got: " + jitter);
+        }
+        this.checkHost = checkHost;
+        this.scheduler = scheduler;
+        this.timer = timer;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Start monitoring the given target, registering the same instance twice has no effect
+     *
+     * @param target The target
+     */
+    public void register(final MonitorTarget target) {
+        final TargetState state = new TargetState(target);
+        if (targets.putIfAbsent(target, state) == null) {
+            state.schedule(ThreadLocalRandom.current().nextLong(target.interval));
+        }
+    }
+
+    /**
+     * Stop monitoring the given target, checks in flight still complete and are passed to the sinks
+     *
+     * @param target The target
+     * @return True if the target was registered
+     */
+    public boolean unregister(final MonitorTarget target) {
+        final TargetState state = targets.remove(target);
+        if (state != null) {
+            state.cancel();
+        }
+        return state != null;
+    }
+
+    public void addSink(final IResultSink sink) {
+        sinks.add(sink);
+    }
+
+    public void removeSink(final IResultSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * @return All registered targets
+     */
+    public List<MonitorTarget> getTargets() {
+        return new ArrayList<>(targets.keySet());
+    }
+
+    /**
+     * @param target The target
+     * @return The amount of checks of the target currently in flight or -1 if the target isn't registered
+     */
+    public int getInFlight(final MonitorTarget target) {
+        final TargetState state = targets.get(target);
+        return state == null ? -1 : state.inFlight.get();
+    }
+
+    /**
+     * @param target The target
+     * @return The amount of runs skipped because the target had the maximum amount of checks in flight, -1 if the target isn't registered
+     */
+    public long getSkippedCount(final MonitorTarget target) {
+        final TargetState state = targets.get(target);
+        return state == null ? -1 : state.skipped.get();
+    }
+
+    /**
+     * Unregister all targets and stop the timer, checks in flight still complete unless the {@link PollScheduler} is shut
+     * down as well, which completes them with a {@link java.util.concurrent.CancellationException}
+     */
+    public void shutdown() {
+        for (MonitorTarget target : getTargets()) {
+            unregister(target);
+        }
+        timer.shutdown();
+    }
+
+    private class TargetState implements Runnable {
+
+        private final MonitorTarget target;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong skipped = new AtomicLong();
+
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> next;
+        private long planned; // Planned time of the next run without jitter, avoids drift
+
+        TargetState(final MonitorTarget target) {
+            this.target = target;
+        }
+
+        void schedule(final long offset) {
+            planned = System.currentTimeMillis() + offset;
+            next = timer.schedule(this, offset, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            planned += target.interval;
+            final long delay = Math.max(0, planned - System.currentTimeMillis()) + (long) (ThreadLocalRandom.current().nextDouble() * jitter * target.interval);
+            next = timer.schedule(this, delay, TimeUnit.MILLISECONDS);
+
+            if (inFlight.incrementAndGet() > target.maxInFlight) {
+                inFlight.decrementAndGet();
+                skipped.incrementAndGet();
+                return;
+            }
+            CompletableFuture<ResultNode<Result>> check;
+            try {
+                check = target.selector == null ? checkHost.checkAsync(target.type, target.host, target.maxNodes)
+                        : checkHost.checkAsync(target.type, target.host, target.selector, target.maxNodes);
+            } catch (RuntimeException e) {
+                check = Futures.failed(e);
+            }
+            check.thenCompose(node -> scheduler.register(node, target.strategy)).whenComplete((node, throwable) -> {
+                inFlight.decrementAndGet();
+                for (IResultSink sink : sinks) {
+                    try {
+                        if (throwable != null) {
+                            sink.onError(target, Futures.unwrap(throwable));
+                        } else {
+                            sink.onResult(target, node);
+                        }
+                    } catch (RuntimeException ignored) {
+                        // A failing sink mustn't affect the other sinks or the monitoring
+                    }
+                }
+            });
+        }
+
+        void cancel() {
+            cancelled = true;
+            final ScheduledFuture<?> next = this.next;
+            if (next != null) {
+                next.cancel(false);
+            }
+        }
+
+    }
+
+}
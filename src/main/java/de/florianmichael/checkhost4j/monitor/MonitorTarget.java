@@ -0,0 +1,95 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.monitor;
+
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.poll.PollStrategy;
+import de.florianmichael.checkhost4j.select.NodeSelector;
+
+/**
+ * A target checked periodically by the {@link MonitorService}. Targets are immutable, the {@code with} methods return
+ * modified copies.
+ */
+public class MonitorTarget {
+
+    public final ResultType type;
+    public final String host;
+    public final int maxNodes;
+    public final long interval;
+    public final int maxInFlight;
+    public final PollStrategy strategy;
+    public final NodeSelector selector;
+
+    /**
+     * Create a target with at most one check in flight, polled using the {@link PollStrategy#DEFAULT} strategy
+     *
+     * @param type     The type of the check (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @param interval The time between two checks in milliseconds
+     */
+    public MonitorTarget(final ResultType type, final String host, final int maxNodes, final long interval) {
+        this(type, host, maxNodes, interval, 1, PollStrategy.DEFAULT, null);
+    }
+
+    private MonitorTarget(final ResultType type, final String host, final int maxNodes, final long interval, final int maxInFlight, final PollStrategy strategy, final NodeSelector selector) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval has to be positive, got: " + interval);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight checks have to be positive, got: " + maxInFlight);
+        }
+        this.type = type;
+        this.host = host;
+        this.maxNodes = maxNodes;
+        this.interval = interval;
+        this.maxInFlight = maxInFlight;
+        this.strategy = strategy;
+        this.selector = selector;
+    }
+
+    /**
+     * @param maxInFlight The maximum amount of checks of this target in flight at the same time, runs exceeding it are skipped
+     * @return A copy of this target with the given limit
+     */
+    public MonitorTarget withMaxInFlight(final int maxInFlight) {
+        return new MonitorTarget(type, host, maxNodes, interval, maxInFlight, strategy, selector);
+    }
+
+    /**
+     * @param strategy The strategy polling the checks of this target
+     * @return A copy of this target with the given strategy
+     */
+    public MonitorTarget withStrategy(final PollStrategy strategy) {
+        return new MonitorTarget(type, host, maxNodes, interval, maxInFlight, strategy, selector);
+    }
+
+    /**
+     * @param selector The selector choosing up to {@link #maxNodes} nodes for every check or null to let check-host choose them
+     * @return A copy of this target with the given selector
+     */
+    public MonitorTarget withSelector(final NodeSelector selector) {
+        return new MonitorTarget(type, host, maxNodes, interval, maxInFlight, strategy, selector);
+    }
+
+    @Override
+    public String toString() {
+        return type.identifier() + ":" + host + "/" + maxNodes + " every " + interval + "ms";
+    }
+
+}
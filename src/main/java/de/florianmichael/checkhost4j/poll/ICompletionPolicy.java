@@ -0,0 +1,84 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.poll;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+
+/**
+ * Decides when polling a {@link ResultNode} can stop before every node reported, so consumers can act on partial results
+ * instead of waiting for slow or dead nodes. Polling always stops once every node reported or the timeout passed,
+ * nodes which didn't report yet keep a null result. Set using {@link PollStrategy#withCompletion(ICompletionPolicy)}.
+ */
+@FunctionalInterface
+public interface ICompletionPolicy {
+
+    /**
+     * Wait until every node reported, the default
+     */
+    ICompletionPolicy ALL = ResultNode::isComplete;
+
+    /**
+     * Stop as soon as any node reported a failed result, useful for alerting
+     */
+    ICompletionPolicy FIRST_FAILURE = node -> {
+        for (Result result : node.getResults().values()) {
+            if (result != null && !result.isSuccessful()) {
+                return true;
+            }
+        }
+        return false;
+    };
+
+    /**
+     * @param node The polled node
+     * @return True if polling can stop
+     */
+    boolean isComplete(final ResultNode<?> node);
+
+    /**
+     * @param other The other policy
+     * @return A policy which is complete once this or the other policy is complete
+     */
+    default ICompletionPolicy or(final ICompletionPolicy other) {
+        return node -> isComplete(node) || other.isComplete(node);
+    }
+
+    /**
+     * @param count The amount of nodes which have to report, capped at the amount of nodes of the check
+     * @return A policy which is complete once the given amount of nodes reported a result
+     */
+    static ICompletionPolicy quorum(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Quorum has to be positive, got: " + count);
+        }
+        return node -> node.getCompletedCount() >= Math.min(count, node.getNodes().size());
+    }
+
+    /**
+     * @param ratio The share of nodes which have to report, between 0 (exclusive) and 1
+     * @return A policy which is complete once the given share of nodes reported a result, rounded up
+     */
+    static ICompletionPolicy quorum(final double ratio) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio has to be in (0, 1], got: " + ratio);
+        }
+        return node -> node.getCompletedCount() >= Math.ceil(node.getNodes().size() * ratio);
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.poll;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.HashedWheelTimer;
+import de.florianmichael.checkhost4j.util.TokenBucket;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Central scheduler multiplexing the polls of many {@link ResultNode}s onto a single {@link HashedWheelTimer} and a small
+ * worker pool. Each registered node is polled on its own {@link PollStrategy} cadence, while the amount of concurrent polls
+ * and the poll rate are limited globally. Polls exceeding a limit are postponed instead of blocking a thread.
+ */
+public class PollScheduler {
+
+    public static final PollScheduler INSTANCE = new PollScheduler(Math.max(2, Runtime.getRuntime().availableProcessors()), 64, null);
+
+    private static final long TICK_MILLIS = 20;
+
+    private final ExecutorService workers;
+    private final HashedWheelTimer timer;
+    private final Semaphore concurrency;
+    private final TokenBucket rateLimit;
+    private final AtomicInteger registered = new AtomicInteger();
+    private final Set<PollTask<?>> tasks = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean stopped;
+
+    /**
+     * @param threads            The amount of worker threads starting polls
+     * @param maxConcurrentPolls The maximum amount of polls in flight at the same time
+     * @param rateLimit          The rate limit for polls or null for no rate limit
+     */
+    public PollScheduler(final int threads, final int maxConcurrentPolls, final TokenBucket rateLimit) {
+        this.workers = Executors.newFixedThreadPool(threads, new DaemonThreadFactory("CheckHost4J Poll Worker"));
+        this.timer = new HashedWheelTimer("CheckHost4J Poll Timer", TICK_MILLIS, TimeUnit.MILLISECONDS, 512, workers);
+        this.concurrency = new Semaphore(maxConcurrentPolls);
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Register a node using the {@link PollStrategy#DEFAULT} strategy
+     *
+     * @param node The node to poll
+     * @param <T>  The result type
+     * @return A future which is completed with the node once polling stopped
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> register(final ResultNode<T> node) {
+        return register(node, PollStrategy.DEFAULT);
+    }
+
+    /**
+     * Register a node to be polled until all nodes reported a result or the timeout of the strategy passed, see
+     * {@link ResultPoller#poll(ResultNode, PollStrategy)} for details. Cancelling the returned future unregisters the node.
+     *
+     * @param node     The node to poll
+     * @param strategy The strategy defining the poll delays and the timeout
+     * @param <T>      The result type
+     * @return A future which is completed with the node once polling stopped, exceptionally if a poll failed or with a
+     * {@link CancellationException} if the scheduler has been shut down
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> register(final ResultNode<T> node, final PollStrategy strategy) {
+        final PollTask<T> task = new PollTask<T>(node, strategy) {
+            @Override
+            protected void schedule(final long delay) {
+                if (!stopped) {
+                    try {
+                        timer.schedule(this, delay, TimeUnit.MILLISECONDS);
+                        return;
+                    } catch (IllegalStateException ignored) {
+                        // Stopped concurrently
+                    }
+                }
+                future.completeExceptionally(new CancellationException("Poll scheduler has been shut down"));
+            }
+
+            @Override
+            public void run() {
+                if (future.isDone()) {
+                    return;
+                }
+                if (!concurrency.tryAcquire()) {
+                    schedule(TICK_MILLIS);
+                    return;
+                }
+                if (rateLimit != null && !rateLimit.tryAcquire()) {
+                    concurrency.release();
+                    schedule(Math.max(TICK_MILLIS, TimeUnit.NANOSECONDS.toMillis(rateLimit.nanosUntilAvailable())));
+                    return;
+                }
+                try {
+                    tick().whenComplete((result, throwable) -> concurrency.release());
+                } catch (RuntimeException e) {
+                    concurrency.release();
+                    future.completeExceptionally(e);
+                }
+            }
+        };
+        registered.incrementAndGet();
+        tasks.add(task);
+        task.future.whenComplete((result, throwable) -> {
+            registered.decrementAndGet();
+            tasks.remove(task);
+        });
+        task.next();
+        return task.future;
+    }
+
+    /**
+     * @return The amount of nodes which are currently being polled
+     */
+    public int getRegisteredCount() {
+        return registered.get();
+    }
+
+    /**
+     * Stop the timer and the worker threads, registered nodes won't be polled anymore and their futures are completed with
+     * a {@link CancellationException}. Polls in flight are not interrupted, but their result is discarded.
+     */
+    public void shutdown() {
+        stopped = true;
+        timer.stop();
+        workers.shutdown();
+        for (PollTask<?> task : tasks) {
+            task.future.completeExceptionally(new CancellationException("Poll scheduler has been shut down"));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.poll;
+
+/**
+ * Defines how often a {@link de.florianmichael.checkhost4j.model.ResultNode} is polled. Polling starts with a short delay
+ * which grows by the given multiplier up to the maximum delay as long as no new results arrive. As soon as a poll
+ * returns new results, the delay falls back to the initial delay since the remaining nodes are likely to finish soon.
+ */
+public class PollStrategy {
+
+    public static final PollStrategy DEFAULT = new PollStrategy(500, 5000, 1.5, 60000);
+
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final long timeout;
+    private final ICompletionPolicy completion;
+    private final long nodeDeadline;
+
+    /**
+     * @param initialDelay The delay before the first poll and after polls which returned new results in milliseconds
+     * @param maxDelay     The maximum delay between two polls in milliseconds
+     * @param multiplier   The multiplier applied to the delay after polls which didn't return new results
+     * @param timeout      The time in milliseconds after which polling is stopped, even if not all nodes reported yet
+     */
+    public PollStrategy(final long initialDelay, final long maxDelay, final double multiplier, final long timeout) {
+        this(initialDelay, maxDelay, multiplier, timeout, ICompletionPolicy.ALL, 0);
+    }
+
+    private PollStrategy(final long initialDelay, final long maxDelay, final double multiplier, final long timeout, final ICompletionPolicy completion, final long nodeDeadline) {
+        if (initialDelay <= 0 || maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Invalid delays: " + initialDelay + "/" + maxDelay);
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Multiplier has to be at least 1, got: " + multiplier);
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.timeout = timeout;
+        this.completion = completion;
+        this.nodeDeadline = nodeDeadline;
+    }
+
+    /**
+     * @param delay    The previous delay
+     * @param progress If the previous poll returned new results
+     * @return The delay before the next poll
+     */
+    public long nextDelay(final long delay, final boolean progress) {
+        if (progress) {
+            return initialDelay;
+        }
+        return Math.min(maxDelay, (long) (delay * multiplier));
+    }
+
+    public PollStrategy withTimeout(final long timeout) {
+        return new PollStrategy(initialDelay, maxDelay, multiplier, timeout, completion, nodeDeadline);
+    }
+
+    /**
+     * @param completion The policy deciding when polling can stop before every node reported
+     * @return A copy of this strategy with the given policy
+     */
+    public PollStrategy withCompletion(final ICompletionPolicy completion) {
+        return new PollStrategy(initialDelay, maxDelay, multiplier, timeout, completion, nodeDeadline);
+    }
+
+    /**
+     * Nodes which didn't report within the deadline get a failed result, see {@link de.florianmichael.checkhost4j.model.ResultNode#expireMissing()}.
+     * Unlike the timeout, the check is complete afterwards and every node has a result.
+     *
+     * @param nodeDeadline The time in milliseconds after submitting the check or 0 to wait for the timeout
+     * @return A copy of this strategy with the given deadline
+     */
+    public PollStrategy withNodeDeadline(final long nodeDeadline) {
+        if (nodeDeadline < 0) {
+            throw new IllegalArgumentException("Node deadline can't be negative, got: " + nodeDeadline);
+        }
+        return new PollStrategy(initialDelay, maxDelay, multiplier, timeout, completion, nodeDeadline);
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public ICompletionPolicy getCompletion() {
+        return completion;
+    }
+
+    public long getNodeDeadline() {
+        return nodeDeadline;
+    }
+
+}
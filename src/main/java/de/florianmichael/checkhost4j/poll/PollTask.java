@@ -0,0 +1,100 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.poll;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a single polled {@link ResultNode}, shared by the {@link ResultPoller} and the {@link PollScheduler} which only
+ * differ in how the next poll is scheduled.
+ *
+ * @param <T> The result type
+ */
+abstract class PollTask<T extends Result> implements Runnable {
+
+    protected final ResultNode<T> node;
+    protected final PollStrategy strategy;
+    protected final CompletableFuture<ResultNode<T>> future = new CompletableFuture<>();
+
+    private final long deadline;
+    private volatile long delay;
+
+    PollTask(final ResultNode<T> node, final PollStrategy strategy) {
+        this.node = node;
+        this.strategy = strategy;
+        this.deadline = System.currentTimeMillis() + strategy.getTimeout();
+        this.delay = strategy.getInitialDelay();
+    }
+
+    /**
+     * Schedule the next poll or complete the future if all nodes reported, the completion policy is satisfied or the
+     * deadline passed. Nodes which missed the node deadline are expired first.
+     */
+    void next() {
+        long remaining = deadline - System.currentTimeMillis();
+        if (strategy.getNodeDeadline() > 0 && !node.isComplete()) {
+            final long untilExpiry = strategy.getNodeDeadline() - TimeUnit.NANOSECONDS.toMillis(node.getElapsedNanos());
+            if (untilExpiry <= 0) {
+                node.expireMissing();
+            } else {
+                remaining = Math.min(remaining, untilExpiry);
+            }
+        }
+        if (node.isComplete() || strategy.getCompletion().isComplete(node) || remaining <= 0) {
+            future.complete(node);
+        } else {
+            schedule(Math.min(delay, remaining));
+        }
+    }
+
+    /**
+     * Send a single poll and schedule the next one once the response arrived
+     *
+     * @return The future of the poll
+     */
+    CompletableFuture<ResultNode<T>> tick() {
+        final int completed = node.getCompletedCount();
+        return node.tickResultsAsync().whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                delay = strategy.nextDelay(delay, node.getCompletedCount() > completed);
+                next();
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        if (!future.isDone()) { // Might be cancelled by the caller
+            tick();
+        }
+    }
+
+    /**
+     * Schedule {@link #run()} to be called after the given delay
+     *
+     * @param delay The delay in milliseconds
+     */
+    protected abstract void schedule(final long delay);
+
+}
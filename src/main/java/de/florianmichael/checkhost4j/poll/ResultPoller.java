@@ -0,0 +1,89 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.poll;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Polls {@link ResultNode}s until all nodes reported a result or the timeout of the {@link PollStrategy} passed, replacing
+ * manual {@link ResultNode#tickResults()} loops. Polls are sent using {@link ResultNode#tickResultsAsync()}, so the
+ * scheduler thread is never blocked by requests.
+ */
+public class ResultPoller {
+
+    public static final ResultPoller INSTANCE = new ResultPoller(Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("CheckHost4J Poller")));
+
+    private final ScheduledExecutorService scheduler;
+
+    public ResultPoller(final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Poll the given node using the {@link PollStrategy#DEFAULT} strategy
+     *
+     * @param node The node to poll
+     * @param <T>  The result type
+     * @return A future which is completed with the node once polling stopped
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> poll(final ResultNode<T> node) {
+        return poll(node, PollStrategy.DEFAULT);
+    }
+
+    /**
+     * Poll the given node until all nodes reported a result, the {@link ICompletionPolicy} of the strategy is satisfied or
+     * the timeout passed. In these cases the future is still completed normally, use {@link ResultNode#isComplete()} to
+     * check if all results are present.
+     *
+     * @param node     The node to poll
+     * @param strategy The strategy defining the poll delays and the timeout
+     * @param <T>      The result type
+     * @return A future which is completed with the node once polling stopped or exceptionally if a poll failed
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> poll(final ResultNode<T> node, final PollStrategy strategy) {
+        final PollTask<T> task = new PollTask<T>(node, strategy) {
+            @Override
+            protected void schedule(final long delay) {
+                scheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+            }
+        };
+        task.next();
+        return task.future;
+    }
+
+    /**
+     * Callback variant of {@link #poll(ResultNode, PollStrategy)}
+     *
+     * @param node     The node to poll
+     * @param strategy The strategy defining the poll delays and the timeout
+     * @param callback The callback, called with either the node or the error
+     * @param <T>      The result type
+     */
+    public <T extends Result> void poll(final ResultNode<T> node, final PollStrategy strategy, final BiConsumer<ResultNode<T>, Throwable> callback) {
+        poll(node, strategy).whenComplete(callback);
+    }
+
+}
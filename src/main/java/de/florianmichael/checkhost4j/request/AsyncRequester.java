@@ -0,0 +1,110 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.request;
+
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.Futures;
+import de.florianmichael.checkhost4j.util.TFunction;
+import de.florianmichael.checkhost4j.util.Utf8StreamReader;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link IAsyncRequester} implementation which runs a blocking {@link IRequester} on a shared executor. Combined with the
+ * {@link JavaRequester}, which keeps its connections alive, a small amount of threads can serve many checks at once.
+ */
+public class AsyncRequester implements IAsyncRequester {
+
+    /**
+     * Shared executor used by default, sized for I/O bound work and made of daemon threads so it never keeps the JVM alive
+     */
+    public static final ExecutorService DEFAULT_EXECUTOR = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), new DaemonThreadFactory("CheckHost4J Requester"));
+
+    private final IRequester requester;
+    private final Executor executor;
+
+    public AsyncRequester(final IRequester requester, final Executor executor) {
+        this.requester = requester;
+        this.executor = executor;
+    }
+
+    /**
+     * Wrap the given requester into an async one, if the requester is already async it will be returned as is
+     *
+     * @param requester The requester to wrap
+     * @return The async requester
+     */
+    public static IAsyncRequester of(final IRequester requester) {
+        if (requester instanceof IAsyncRequester) {
+            return (IAsyncRequester) requester;
+        }
+        return new AsyncRequester(requester, DEFAULT_EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<String> getAsync(final URI target) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return requester.get(target);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return Futures.failed(e);
+        }
+    }
+
+    /**
+     * Decodes the response on the executor while it's being read, using pooled buffers instead of building a String
+     */
+    @Override
+    public <T> CompletableFuture<T> getAsync(final URI target, final TFunction<Reader, T> decoder) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (Reader reader = new Utf8StreamReader(requester.getStream(target))) {
+                    return decoder.apply(reader);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return Futures.failed(e);
+        }
+    }
+
+    @Override
+    public String get(final URI target) throws Exception {
+        return requester.get(target);
+    }
+
+    @Override
+    public InputStream getStream(final URI target) throws Exception {
+        return requester.getStream(target);
+    }
+
+}
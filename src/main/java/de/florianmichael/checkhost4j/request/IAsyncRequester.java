@@ -0,0 +1,71 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.request;
+
+import de.florianmichael.checkhost4j.util.Futures;
+import de.florianmichael.checkhost4j.util.TFunction;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Interface for a requester which doesn't block the calling thread
+ */
+public interface IAsyncRequester extends IRequester {
+
+    /**
+     * Get the content of the given URI without blocking the calling thread
+     *
+     * @param target URI to get
+     * @return A future which is completed with the content of the URI or exceptionally if an error occurs
+     */
+    CompletableFuture<String> getAsync(final URI target);
+
+    /**
+     * Get the content of the given URI without blocking the calling thread and hand it to the decoder. Implementations
+     * can override this to decode the response while it's being read, without building a String first.
+     *
+     * @param target  URI to get
+     * @param decoder The decoder reading the content, the reader is closed once the decoder returned
+     * @param <T>     The decoded type
+     * @return A future which is completed with the decoded content or exceptionally if an error occurs
+     */
+    default <T> CompletableFuture<T> getAsync(final URI target, final TFunction<Reader, T> decoder) {
+        return Futures.map(getAsync(target), response -> {
+            try (Reader reader = new StringReader(response)) {
+                return decoder.apply(reader);
+            }
+        });
+    }
+
+    @Override
+    default String get(final URI target) throws Exception {
+        try {
+            return getAsync(target).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -17,7 +17,10 @@
 
 package de.florianmichael.checkhost4j.request;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface for a requester
@@ -33,4 +36,16 @@ public interface IRequester {
      */
     String get(final URI target) throws Exception;
 
+    /**
+     * Get the content of the given URI as a UTF-8 encoded stream, the caller has to close the stream. The default
+     * implementation wraps {@link #get(URI)}, implementations should override this to hand out the response body directly.
+     *
+     * @param target URI to get
+     * @return Content of the URI
+     * @throws Exception If an error occurs
+     */
+    default InputStream getStream(final URI target) throws Exception {
+        return new ByteArrayInputStream(get(target).getBytes(StandardCharsets.UTF_8));
+    }
+
 }
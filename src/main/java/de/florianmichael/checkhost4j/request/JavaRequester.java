@@ -17,37 +17,141 @@
 
 package de.florianmichael.checkhost4j.request;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import de.florianmichael.checkhost4j.util.BufferPool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 public class JavaRequester implements IRequester {
 
-    public static final JavaRequester INSTANCE = new JavaRequester("Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:71.0) Gecko/20100101 Firefox/71.0");
+    public static final String DEFAULT_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:71.0) Gecko/20100101 Firefox/71.0";
+    public static final JavaRequester INSTANCE = new JavaRequester(DEFAULT_AGENT);
+
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
 
     private final String agent;
+    private final int connectTimeout;
+    private final int readTimeout;
 
     public JavaRequester(String agent) {
+        this(agent, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * @param agent          The user agent
+     * @param connectTimeout The connect timeout in milliseconds, 0 for no timeout
+     * @param readTimeout    The read timeout in milliseconds, 0 for no timeout
+     */
+    public JavaRequester(String agent, int connectTimeout, int readTimeout) {
         this.agent = agent;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
     }
 
+    /**
+     * Reads the response bytes using a pooled buffer and decodes them as UTF-8 at once. Prefer {@link #getStream(URI)},
+     * which lets the JSON decoder read the bytes directly without building a String.
+     */
     @Override
     public String get(URI target) throws Exception {
+        final HttpURLConnection connection = openConnection(target);
+
+        // Don't disconnect, reading the body fully and closing the stream hands the socket back to the keep-alive cache of the JDK
+        try (InputStream in = connection.getInputStream()) {
+            return new String(readFully(in, connection.getContentLength()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            drain(connection.getErrorStream());
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getStream(final URI target) throws Exception {
+        final HttpURLConnection connection = openConnection(target);
+        try {
+            return connection.getInputStream();
+        } catch (IOException e) {
+            drain(connection.getErrorStream());
+            throw e;
+        }
+    }
+
+    private HttpURLConnection openConnection(final URI target) throws IOException {
         final HttpURLConnection connection = (HttpURLConnection) target.toURL().openConnection();
 
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
         connection.setRequestProperty("User-Agent", agent);
         connection.setRequestProperty("Accept", "application/json");
+        return connection;
+    }
+
+    /**
+     * Read the whole stream, if the length is known the bytes are read directly into an array of the exact size
+     *
+     * @param in     The stream
+     * @param length The content length or -1 if unknown
+     * @return The bytes of the stream
+     */
+    private static byte[] readFully(final InputStream in, final int length) throws IOException {
+        if (length >= 0) {
+            final byte[] bytes = new byte[length];
+            int offset = 0;
+            int read;
+            while (offset < length && (read = in.read(bytes, offset, length - offset)) != -1) {
+                offset += read;
+            }
+            final int next = offset == length ? in.read() : -1;
+            if (offset == length && next == -1) {
+                return bytes;
+            }
+            // Content length didn't match the body, fall back to reading the rest with a growing buffer
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, offset * 2));
+            out.write(bytes, 0, offset);
+            if (next != -1) {
+                out.write(next);
+            }
+            return readRemaining(in, out);
+        }
+        return readRemaining(in, new ByteArrayOutputStream());
+    }
 
-        BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        StringBuilder output = new StringBuilder();
-        String line;
-        while((line = br.readLine()) != null) {
-            output.append(line).append(System.lineSeparator());
+    private static byte[] readRemaining(final InputStream in, final ByteArrayOutputStream out) throws IOException {
+        final ByteBuffer buffer = BufferPool.INSTANCE.acquire();
+        try {
+            final byte[] array = buffer.array();
+            int read;
+            while ((read = in.read(array, buffer.arrayOffset(), buffer.capacity())) != -1) {
+                out.write(array, buffer.arrayOffset(), read);
+            }
+        } finally {
+            BufferPool.INSTANCE.release(buffer);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Read and close the error stream of a failed request, otherwise the underlying connection can't be reused
+     *
+     * @param stream The error stream, might be null
+     */
+    private static void drain(final InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try (InputStream in = stream) {
+            final byte[] buffer = new byte[1024];
+            while (in.read(buffer) != -1) {
+                // Discard
+            }
+        } catch (IOException ignored) {
         }
-        br.close();
-        connection.disconnect();
-        return output.toString();
     }
 
 }
@@ -0,0 +1,188 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.request;
+
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.TFunction;
+import de.florianmichael.checkhost4j.util.TokenBucket;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requester decorator limiting the request rate to avoid being throttled by the API. Poll requests ({@code /check-result})
+ * and submit requests ({@code /check-*}) have separate {@link TokenBucket} budgets. Requests exceeding the budget are
+ * queued in FIFO order and released as soon as tokens are available, async requests never block a thread while waiting.
+ */
+public class RateLimitedRequester implements IAsyncRequester {
+
+    /**
+     * Releases queued requests of all rate limited requesters which don't have their own scheduler
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("CheckHost4J Rate Limiter"));
+
+    private final IAsyncRequester requester;
+    private final Budget submitBudget;
+    private final Budget pollBudget;
+
+    /**
+     * Create a rate limited requester with conservative default budgets (5 submits with 1 per second, 20 polls with 5 per second)
+     *
+     * @param requester The requester to limit
+     */
+    public RateLimitedRequester(final IRequester requester) {
+        this(requester, new TokenBucket(5, 1), new TokenBucket(20, 5));
+    }
+
+    /**
+     * @param requester    The requester to limit
+     * @param submitBudget The budget for submit requests
+     * @param pollBudget   The budget for poll requests
+     */
+    public RateLimitedRequester(final IRequester requester, final TokenBucket submitBudget, final TokenBucket pollBudget) {
+        this(requester, submitBudget, pollBudget, SCHEDULER);
+    }
+
+    /**
+     * @param requester    The requester to limit
+     * @param submitBudget The budget for submit requests
+     * @param pollBudget   The budget for poll requests
+     * @param scheduler    The executor releasing queued requests once tokens are available, owned by the caller
+     */
+    public RateLimitedRequester(final IRequester requester, final TokenBucket submitBudget, final TokenBucket pollBudget, final ScheduledExecutorService scheduler) {
+        this.requester = AsyncRequester.of(requester);
+        this.submitBudget = new Budget(submitBudget, scheduler);
+        this.pollBudget = new Budget(pollBudget, scheduler);
+    }
+
+    @Override
+    public CompletableFuture<String> getAsync(final URI target) {
+        return budget(target).acquire().thenCompose(v -> requester.getAsync(target));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(final URI target, final TFunction<Reader, T> decoder) {
+        return budget(target).acquire().thenCompose(v -> requester.getAsync(target, decoder));
+    }
+
+    @Override
+    public String get(final URI target) throws Exception {
+        await(budget(target).acquire());
+        return requester.get(target);
+    }
+
+    @Override
+    public InputStream getStream(final URI target) throws Exception {
+        await(budget(target).acquire());
+        return requester.getStream(target);
+    }
+
+    /**
+     * @return The amount of requests waiting for a token
+     */
+    public int getQueuedCount() {
+        return submitBudget.size() + pollBudget.size();
+    }
+
+    private Budget budget(final URI target) {
+        final String path = target.getPath();
+        return path != null && path.startsWith("/check-result") ? pollBudget : submitBudget;
+    }
+
+    private static void await(final CompletableFuture<Void> permit) throws InterruptedException {
+        try {
+            permit.get();
+        } catch (ExecutionException e) {
+            // Permits only fail if the scheduler has been shut down
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * FIFO queue of requests waiting for tokens of a single bucket
+     */
+    private static class Budget {
+
+        private final TokenBucket bucket;
+        private final ScheduledExecutorService scheduler;
+        private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private boolean drainScheduled;
+
+        private Budget(final TokenBucket bucket, final ScheduledExecutorService scheduler) {
+            this.bucket = bucket;
+            this.scheduler = scheduler;
+        }
+
+        private synchronized CompletableFuture<Void> acquire() {
+            if (waiting.isEmpty() && bucket.tryAcquire()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            scheduleDrain();
+            return permit;
+        }
+
+        private synchronized int size() {
+            return waiting.size();
+        }
+
+        private void drain() {
+            final List<CompletableFuture<Void>> released = new ArrayList<>();
+            synchronized (this) {
+                drainScheduled = false;
+                while (!waiting.isEmpty() && bucket.tryAcquire()) {
+                    released.add(waiting.poll());
+                }
+                scheduleDrain();
+            }
+            // Complete outside the lock, dependent requests are started by the completing thread
+            for (CompletableFuture<Void> permit : released) {
+                permit.complete(null);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled || waiting.isEmpty()) {
+                return;
+            }
+            drainScheduled = true;
+            try {
+                scheduler.schedule(this::drain, Math.max(1, bucket.nanosUntilAvailable()), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // The scheduler has been shut down, nothing would release the waiting requests anymore
+                drainScheduled = false;
+                while (!waiting.isEmpty()) {
+                    waiting.poll().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.request;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requester serving recorded responses from disk, so checks can be replayed offline and reproducibly. Every request is
+ * mapped to a file name derived from its path and query; repeated requests to the same URI (e.g. polls of a check) are
+ * stored as a numbered sequence ({@code name.1.json}, {@code name.2.json}, ...) and replayed in order, once the sequence
+ * is exhausted its last response is repeated.
+ * <p>
+ * If a delegate requester is given, responses are fetched from it and recorded instead.
+ */
+public class ReplayRequester implements IRequester {
+
+    private final Path directory;
+    private final IRequester recordFrom;
+    private final Map<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * Replay responses from the given directory
+     *
+     * @param directory The directory containing the recorded responses
+     */
+    public ReplayRequester(final Path directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Record the responses of the given requester into the directory
+     *
+     * @param directory  The directory to write the responses to
+     * @param recordFrom The requester to fetch the responses from or null to replay
+     */
+    public ReplayRequester(final Path directory, final IRequester recordFrom) {
+        this.directory = directory;
+        this.recordFrom = recordFrom;
+    }
+
+    @Override
+    public String get(final URI target) throws Exception {
+        final String key = key(target);
+        final int index = sequences.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        if (recordFrom != null) {
+            final String response = recordFrom.get(target);
+            Files.createDirectories(directory);
+            Files.write(file(key, index), response.getBytes(StandardCharsets.UTF_8));
+            return response;
+        }
+        return new String(Files.readAllBytes(replayFile(key, index)), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public InputStream getStream(final URI target) throws Exception {
+        if (recordFrom != null) {
+            return IRequester.super.getStream(target);
+        }
+        final String key = key(target);
+        return Files.newInputStream(replayFile(key, sequences.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet()));
+    }
+
+    /**
+     * Restart all sequences, the next requests will get the first recorded responses again
+     */
+    public void rewind() {
+        sequences.clear();
+    }
+
+    private Path replayFile(final String key, final int index) throws IOException {
+        for (int i = index; i > 0; i--) {
+            final Path file = file(key, i);
+            if (Files.exists(file)) {
+                return file;
+            }
+        }
+        throw new FileNotFoundException("No recorded response for " + key + " in " + directory);
+    }
+
+    private Path file(final String key, final int index) {
+        return directory.resolve(key + "." + index + ".json");
+    }
+
+    private static String key(final URI target) {
+        String key = target.getRawPath();
+        if (target.getRawQuery() != null) {
+            key += "_" + target.getRawQuery();
+        }
+        return key.replaceAll("^/+", "").replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.request;
+
+import com.google.gson.stream.MalformedJsonException;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.Futures;
+import de.florianmichael.checkhost4j.util.TFunction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Requester decorator bounding the latency of requests: every attempt has a deadline, idempotent requests failing with a
+ * transport error or missing their deadline are retried with jittered exponential backoff and a {@link CircuitBreaker}
+ * fails fast while the API is down. Submit requests ({@code /check-*}) are never retried since a retry would start another
+ * check.
+ * <p>
+ * Only transport errors ({@link IOException}s except malformed JSON) and timeouts count as failures of the breaker, other
+ * errors (e.g. a response which can't be decoded) mean the API answered and are passed to the caller without retry.
+ * A timed out attempt keeps its thread of the wrapped requester until that requester gives up, so at most
+ * {@code maxRetries + 1} attempts of a single request run at the same time.
+ */
+public class ResilientRequester implements IAsyncRequester {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("CheckHost4J Resilience"));
+
+    private final IAsyncRequester requester;
+    private final long timeout;
+    private final int maxRetries;
+    private final long baseBackoff;
+    private final long maxBackoff;
+    private final CircuitBreaker breaker;
+
+    /**
+     * Create a resilient requester with default settings (10 seconds deadline, 3 retries starting at 200 milliseconds
+     * backoff, breaker opening after 5 consecutive failures for 30 seconds)
+     *
+     * @param requester The requester to decorate
+     */
+    public ResilientRequester(final IRequester requester) {
+        this(requester, 10000, 3, 200, 5000, new CircuitBreaker(5, 30000));
+    }
+
+    /**
+     * @param requester   The requester to decorate
+     * @param timeout     The deadline of a single attempt in milliseconds
+     * @param maxRetries  The maximum amount of retries after the first attempt
+     * @param baseBackoff The backoff before the first retry in milliseconds, doubled for every further retry
+     * @param maxBackoff  The maximum backoff in milliseconds
+     * @param breaker     The circuit breaker
+     */
+    public ResilientRequester(final IRequester requester, final long timeout, final int maxRetries, final long baseBackoff, final long maxBackoff, final CircuitBreaker breaker) {
+        this.requester = AsyncRequester.of(requester);
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.breaker = breaker;
+    }
+
+    @Override
+    public CompletableFuture<String> getAsync(final URI target) {
+        return execute(target, () -> requester.getAsync(target), null);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(final URI target, final TFunction<Reader, T> decoder) {
+        return execute(target, () -> requester.getAsync(target, decoder), null);
+    }
+
+    @Override
+    public InputStream getStream(final URI target) throws Exception {
+        final CompletableFuture<InputStream> stream = execute(target, () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return requester.getStream(target);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, AsyncRequester.DEFAULT_EXECUTOR), ResilientRequester::closeQuietly);
+        try {
+            return stream.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    private <V> CompletableFuture<V> execute(final URI target, final Supplier<CompletableFuture<V>> call, final Consumer<V> discard) {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        attempt(isIdempotent(target) ? maxRetries : 0, target, call, discard, result, 0);
+        return result;
+    }
+
+    private <V> void attempt(final int retries, final URI target, final Supplier<CompletableFuture<V>> call, final Consumer<V> discard, final CompletableFuture<V> result, final int attempt) {
+        if (!breaker.allowRequest()) {
+            result.completeExceptionally(new CircuitOpenException("Circuit breaker is open, rejected request to " + target));
+            return;
+        }
+        withTimeout(target, call, discard).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = Futures.unwrap(throwable);
+            if (!isTransportFailure(cause)) {
+                breaker.onSuccess(); // The API answered, the failure isn't caused by its availability
+                result.completeExceptionally(cause);
+                return;
+            }
+            breaker.onFailure();
+            if (attempt >= retries) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            SCHEDULER.schedule(() -> attempt(retries, target, call, discard, result, attempt + 1), backoff(attempt), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private <V> CompletableFuture<V> withTimeout(final URI target, final Supplier<CompletableFuture<V>> call, final Consumer<V> discard) {
+        final CompletableFuture<V> timed = new CompletableFuture<>();
+        final ScheduledFuture<?> deadline = SCHEDULER.schedule(() -> timed.completeExceptionally(new TimeoutException("Request to " + target + " timed out after " + timeout + "ms")), timeout, TimeUnit.MILLISECONDS);
+        CompletableFuture<V> pending;
+        try {
+            pending = call.get();
+        } catch (RuntimeException e) {
+            pending = Futures.failed(e);
+        }
+        pending.whenComplete((value, throwable) -> {
+            deadline.cancel(false);
+            final boolean completed = throwable == null ? timed.complete(value) : timed.completeExceptionally(throwable);
+            if (!completed && value != null && discard != null) {
+                discard.accept(value); // Arrived after the deadline, nobody is going to use it
+            }
+        });
+        return timed;
+    }
+
+    /**
+     * Full jitter backoff, a random delay between 0 and the exponential backoff of the attempt
+     */
+    private long backoff(final int attempt) {
+        final long exponential = Math.min(maxBackoff, baseBackoff << Math.min(attempt, 30));
+        return ThreadLocalRandom.current().nextLong(exponential + 1);
+    }
+
+    private static boolean isTransportFailure(final Throwable cause) {
+        return cause instanceof TimeoutException || (cause instanceof IOException && !(cause instanceof MalformedJsonException));
+    }
+
+    private static boolean isIdempotent(final URI target) {
+        final String path = target.getPath();
+        return path == null || path.startsWith("/check-result") || !path.startsWith("/check-");
+    }
+
+    private static void closeQuietly(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
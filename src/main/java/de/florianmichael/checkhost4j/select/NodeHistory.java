@@ -0,0 +1,175 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.select;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how fast and how reliably every {@link ServerNode} reports, keyed by the node name. The time to result is the
+ * time between submitting a check and the node reporting, smoothed using an exponentially weighted moving average so
+ * recent checks weigh more. Nodes which were submitted but never reported count as unreliable.
+ * <p>
+ * Checks are recorded by calling {@link #track(ResultNode)} right after creating them, see {@link NodeSelector} for
+ * choosing nodes based on the history.
+ */
+public class NodeHistory {
+
+    public static final double DEFAULT_SMOOTHING = 0.2;
+
+    private final double smoothing;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Create a history using the {@link #DEFAULT_SMOOTHING} factor
+     */
+    public NodeHistory() {
+        this(DEFAULT_SMOOTHING);
+    }
+
+    /**
+     * @param smoothing The weight of a new time to result in the moving average, between 0 (exclusive) and 1
+     */
+    public NodeHistory(final double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing has to be in (0, 1], got: " + smoothing);
+        }
+        this.smoothing = smoothing;
+    }
+
+    /**
+     * Count a submission for every node of the given check and record the results once the nodes report. Has to be
+     * called before the check is ticked for the first time.
+     *
+     * @param resultNode The check
+     */
+    public <T extends Result> void track(final ResultNode<T> resultNode) {
+        for (ServerNode node : resultNode.getNodes()) {
+            stats(node.name).submitted();
+        }
+        resultNode.addListener(this::onResult);
+    }
+
+    /**
+     * Listener variant of {@link #record(String, long, boolean)}, the time to result is taken from the check. Results
+     * filled in by {@link ResultNode#expireMissing()} aren't recorded, the node counts as submitted but not reported.
+     */
+    public <T extends Result> void onResult(final ResultNode<T> resultNode, final ServerNode node, final T result) {
+        if (resultNode.isExpired(node)) {
+            return;
+        }
+        record(node.name, resultNode.getElapsedNanos(), result.isSuccessful());
+    }
+
+    /**
+     * @param name              The name of the node
+     * @param timeToResultNanos The time in nanoseconds between submitting the check and the node reporting
+     * @param successful        True if the reported result was successful
+     */
+    public void record(final String name, final long timeToResultNanos, final boolean successful) {
+        stats(name).reported(TimeUnit.NANOSECONDS.toMillis(timeToResultNanos), successful, smoothing);
+    }
+
+    /**
+     * @param name The name of the node
+     * @return The smoothed time to result in milliseconds or -1 if the node never reported
+     */
+    public double getTimeToResult(final String name) {
+        final Stats stats = this.stats.get(name);
+        return stats == null ? -1 : stats.timeToResult();
+    }
+
+    /**
+     * Estimate the share of submissions the node answers with a successful result, unknown nodes have a reliability of 0.5.
+     * Checks still in flight count as not reported yet.
+     *
+     * @param name The name of the node
+     * @return The reliability between 0 and 1
+     */
+    public double getReliability(final String name) {
+        final Stats stats = this.stats.get(name);
+        return stats == null ? 0.5 : stats.reliability();
+    }
+
+    /**
+     * @param name The name of the node
+     * @return The amount of results the node reported so far
+     */
+    public long getReportCount(final String name) {
+        final Stats stats = this.stats.get(name);
+        return stats == null ? 0 : stats.reported();
+    }
+
+    /**
+     * @return The names of all nodes with recorded submissions or results
+     */
+    public Set<String> getNodeNames() {
+        return stats.keySet();
+    }
+
+    /**
+     * Remove the history of all nodes
+     */
+    public void clear() {
+        stats.clear();
+    }
+
+    private Stats stats(final String name) {
+        return stats.computeIfAbsent(name, n -> new Stats());
+    }
+
+    private static class Stats {
+
+        private long submitted;
+        private long reported;
+        private long successful;
+        private double timeToResult = -1;
+
+        private synchronized void submitted() {
+            submitted++;
+        }
+
+        private synchronized void reported(final long timeToResult, final boolean successful, final double smoothing) {
+            reported++;
+            if (successful) {
+                this.successful++;
+            }
+            this.timeToResult = this.timeToResult < 0 ? timeToResult : this.timeToResult + smoothing * (timeToResult - this.timeToResult);
+        }
+
+        private synchronized double timeToResult() {
+            return timeToResult;
+        }
+
+        private synchronized long reported() {
+            return reported;
+        }
+
+        private synchronized double reliability() {
+            // Laplace smoothing, a single report doesn't make a node perfect and a single timeout doesn't rule it out
+            return (successful + 1D) / (Math.max(submitted, reported) + 2D);
+        }
+    }
+
+}
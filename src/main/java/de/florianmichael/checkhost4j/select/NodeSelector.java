@@ -0,0 +1,205 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.select;
+
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Chooses the nodes of a check instead of letting check-host choose them. Nodes are filtered by their location and AS,
+ * the remaining nodes are ranked using a {@link NodeHistory}: nodes which reported fast and reliably are preferred,
+ * nodes without history are ranked behind good nodes but ahead of slow or unreliable ones so new nodes still get tried.
+ * Selectors are immutable, the {@code with} methods return modified copies.
+ */
+public class NodeSelector {
+
+    public static final NodeSelector ANY = new NodeSelector(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(), Collections.emptySet(), 0);
+
+    /**
+     * Expected time to result in milliseconds of nodes without history if no candidate has any history
+     */
+    public static final double DEFAULT_TIME_TO_RESULT = 5000;
+
+    private final Set<String> countries;
+    private final Set<String> cities;
+    private final Set<String> asNames;
+    private final Set<String> excluded;
+    private final double minReliability;
+
+    private NodeSelector(final Set<String> countries, final Set<String> cities, final Set<String> asNames, final Set<String> excluded, final double minReliability) {
+        this.countries = countries;
+        this.cities = cities;
+        this.asNames = asNames;
+        this.excluded = excluded;
+        this.minReliability = minReliability;
+    }
+
+    /**
+     * @param countries Country codes or country names (e.g. "de" or "Germany"), ignoring case
+     * @return A copy of this selector only accepting nodes in one of the given countries
+     */
+    public NodeSelector withCountries(final String... countries) {
+        return new NodeSelector(lowerCase(countries), cities, asNames, excluded, minReliability);
+    }
+
+    /**
+     * @param cities City names, ignoring case
+     * @return A copy of this selector only accepting nodes in one of the given cities
+     */
+    public NodeSelector withCities(final String... cities) {
+        return new NodeSelector(countries, lowerCase(cities), asNames, excluded, minReliability);
+    }
+
+    /**
+     * Nodes which have only been seen in the node list (e.g. {@link de.florianmichael.checkhost4j.CheckHost4J#getNodes()})
+     * carry the AS number without the name until they took part in a check, so prefer matching by number.
+     *
+     * @param asNames Parts of AS names (e.g. "AS13335" or "Hetzner"), ignoring case
+     * @return A copy of this selector only accepting nodes whose AS name contains one of the given parts
+     */
+    public NodeSelector withAsNames(final String... asNames) {
+        return new NodeSelector(countries, cities, lowerCase(asNames), excluded, minReliability);
+    }
+
+    /**
+     * @param names Names of nodes which should never be selected
+     * @return A copy of this selector rejecting the given nodes
+     */
+    public NodeSelector withExcluded(final String... names) {
+        return new NodeSelector(countries, cities, asNames, Collections.unmodifiableSet(new HashSet<>(Arrays.asList(names))), minReliability);
+    }
+
+    /**
+     * @param minReliability The minimum reliability between 0 and 1, see {@link NodeHistory#getReliability(String)}
+     * @return A copy of this selector rejecting nodes which reported less reliably
+     */
+    public NodeSelector withMinReliability(final double minReliability) {
+        return new NodeSelector(countries, cities, asNames, excluded, minReliability);
+    }
+
+    /**
+     * @param node The node
+     * @return True if the node passes the location and AS filters of this selector
+     */
+    public boolean matches(final ServerNode node) {
+        if (excluded.contains(node.name)) {
+            return false;
+        }
+        if (!countries.isEmpty() && !countries.contains(lowerCase(node.countryCode)) && !countries.contains(lowerCase(node.country))) {
+            return false;
+        }
+        if (!cities.isEmpty() && !cities.contains(lowerCase(node.city))) {
+            return false;
+        }
+        if (!asNames.isEmpty()) {
+            final String asName = lowerCase(node.asName);
+            for (String part : asNames) {
+                if (asName.contains(part)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Select the best matching nodes, ranked by their expected time to result divided by their reliability. Nodes
+     * without history are expected to be as fast as the median of the candidates with history.
+     *
+     * @param candidates The nodes to choose from, the order is kept for equally ranked nodes
+     * @param history    The history ranking the nodes
+     * @param count      The maximum amount of nodes to select
+     * @return The selected nodes, best first. Might be less than count or empty if not enough nodes matched
+     */
+    public List<ServerNode> select(final Collection<ServerNode> candidates, final NodeHistory history, final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count has to be positive, got: " + count);
+        }
+        final List<ServerNode> matching = new ArrayList<>();
+        final List<Double> known = new ArrayList<>();
+        for (ServerNode node : candidates) {
+            if (!matches(node) || (minReliability > 0 && history.getReliability(node.name) < minReliability)) {
+                continue;
+            }
+            matching.add(node);
+            final double timeToResult = history.getTimeToResult(node.name);
+            if (timeToResult >= 0) {
+                known.add(timeToResult);
+            }
+        }
+        final double prior = median(known);
+
+        final List<Ranked> ranked = new ArrayList<>(matching.size());
+        for (ServerNode node : matching) {
+            final double timeToResult = history.getTimeToResult(node.name);
+            // Add one millisecond so instantly reporting nodes are still ranked by their reliability
+            final double expected = (timeToResult >= 0 ? timeToResult : prior) + 1;
+            ranked.add(new Ranked(node, expected / history.getReliability(node.name)));
+        }
+        ranked.sort(Comparator.comparingDouble(entry -> entry.score));
+
+        final List<ServerNode> selected = new ArrayList<>(Math.min(count, ranked.size()));
+        for (int i = 0; i < ranked.size() && selected.size() < count; i++) {
+            selected.add(ranked.get(i).node);
+        }
+        return selected;
+    }
+
+    private static double median(final List<Double> values) {
+        if (values.isEmpty()) {
+            return DEFAULT_TIME_TO_RESULT;
+        }
+        Collections.sort(values);
+        final int middle = values.size() / 2;
+        return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+    }
+
+    private static Set<String> lowerCase(final String... values) {
+        final Set<String> set = new HashSet<>();
+        for (String value : values) {
+            set.add(lowerCase(value));
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    private static String lowerCase(final String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Ranked {
+
+        private final ServerNode node;
+        private final double score;
+
+        private Ranked(final ServerNode node, final double score) {
+            this.node = node;
+            this.score = score;
+        }
+    }
+
+}
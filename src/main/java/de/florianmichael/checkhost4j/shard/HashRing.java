@@ -0,0 +1,118 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable consistent hash ring mapping keys (e.g. hosts) to members. Every member is placed on the ring multiple times
+ * (virtual nodes) so keys spread evenly, adding or removing a member only moves the keys of that member. Rings are
+ * rebuilt on membership changes instead of being modified, so lookups never lock.
+ *
+ * @param <T> The member type
+ */
+public class HashRing<T> {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final List<T> members;
+    private final long[] positions;
+    private final Object[] owners;
+
+    /**
+     * @param members      The members of the ring
+     * @param key          The stable key of a member, e.g. its ID, which has to be the same on all JVMs
+     * @param virtualNodes The amount of positions of every member on the ring
+     */
+    public HashRing(final Collection<T> members, final Function<T, String> key, final int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes have to be positive, got: " + virtualNodes);
+        }
+        final TreeMap<Long, T> ring = new TreeMap<>();
+        for (T member : members) {
+            final String memberKey = key.apply(member);
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(memberKey + "#" + i), member);
+            }
+        }
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+        this.positions = new long[ring.size()];
+        this.owners = new Object[ring.size()];
+        int index = 0;
+        for (Map.Entry<Long, T> entry : ring.entrySet()) {
+            positions[index] = entry.getKey();
+            owners[index++] = entry.getValue();
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The member owning the key or null if the ring is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final String key) {
+        if (positions.length == 0) {
+            return null;
+        }
+        final long hash = hash(key);
+        // First position at or after the hash, wrapping around to the first position
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (positions[middle] < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return (T) owners[low == positions.length ? 0 : low];
+    }
+
+    public List<T> getMembers() {
+        return members;
+    }
+
+    /**
+     * 64 bit FNV-1a followed by the MurmurHash3 finalizer, stable across JVMs unlike {@link String#hashCode()} based
+     * placement which clusters similar keys
+     *
+     * @param key The key
+     * @return The position of the key on the ring
+     */
+    static long hash(final String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.shard;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Membership of the JVMs sharing the work of a {@link ShardedCheckHost4J}. Every member knows the same member IDs, so all
+ * members compute the same {@link HashRing} and agree on the owner of a target without talking to each other.
+ * Implementations can be backed by any shared store or discovery service, {@link InProcessCoordinator} keeps the
+ * membership in memory.
+ */
+public interface ICoordinator {
+
+    /**
+     * Add a member, listeners of all members are notified
+     *
+     * @param member The ID of the member
+     */
+    void join(final String member);
+
+    /**
+     * Remove a member, listeners of all remaining members are notified
+     *
+     * @param member The ID of the member
+     */
+    void leave(final String member);
+
+    /**
+     * @return The IDs of all current members
+     */
+    Set<String> getMembers();
+
+    /**
+     * @param listener Called with the new member IDs whenever the membership changed
+     */
+    void addListener(final Consumer<Set<String>> listener);
+
+    void removeListener(final Consumer<Set<String>> listener);
+
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.shard;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link ICoordinator} keeping the membership in memory, shared by all clients in the same JVM using the same instance.
+ * Meant for tests and for running several sharded clients side by side. Listeners are notified on the thread changing
+ * the membership.
+ */
+public class InProcessCoordinator implements ICoordinator {
+
+    private final List<Consumer<Set<String>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Set<String> members = Collections.emptySet();
+
+    @Override
+    public void join(final String member) {
+        update(member, true);
+    }
+
+    @Override
+    public void leave(final String member) {
+        update(member, false);
+    }
+
+    @Override
+    public Set<String> getMembers() {
+        return members;
+    }
+
+    @Override
+    public void addListener(final Consumer<Set<String>> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(final Consumer<Set<String>> listener) {
+        listeners.remove(listener);
+    }
+
+    private void update(final String member, final boolean join) {
+        final Set<String> members;
+        synchronized (this) {
+            final Set<String> updated = new TreeSet<>(this.members);
+            if (!(join ? updated.add(member) : updated.remove(member))) {
+                return;
+            }
+            members = Collections.unmodifiableSet(updated);
+            this.members = members;
+        }
+        for (Consumer<Set<String>> listener : listeners) {
+            listener.accept(members);
+        }
+    }
+
+}
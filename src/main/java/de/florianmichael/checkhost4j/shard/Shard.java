@@ -0,0 +1,89 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.shard;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.monitor.MonitorService;
+import de.florianmichael.checkhost4j.poll.PollScheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * A single shard of a {@link ShardedCheckHost4J}. Every shard owns its requester, request threads, rate budgets and rate
+ * limiter thread, poll scheduler and monitor, see {@link ShardedCheckHost4J} for the few process-wide parts.
+ */
+public class Shard {
+
+    public final int index;
+
+    private final CheckHost4J checkHost;
+    private final ExecutorService executor;
+    private final PollScheduler scheduler;
+    private final MonitorService monitor;
+    private final ScheduledExecutorService rateLimiter;
+
+    /**
+     * @param rateLimiter The executor releasing rate limited requests or null if the shard isn't rate limited
+     */
+    Shard(final int index, final CheckHost4J checkHost, final ExecutorService executor, final PollScheduler scheduler, final MonitorService monitor, final ScheduledExecutorService rateLimiter) {
+        this.index = index;
+        this.checkHost = checkHost;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.monitor = monitor;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return The instance submitting the checks of this shard
+     */
+    public CheckHost4J getCheckHost() {
+        return checkHost;
+    }
+
+    public PollScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return The monitor running the targets assigned to this shard
+     */
+    public MonitorService getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Stop starting new checks, then stop polling. Checks in flight are completed with a
+     * {@link java.util.concurrent.CancellationException} by the scheduler, which is passed to the sinks of the monitor.
+     */
+    void shutdown() {
+        monitor.shutdown();
+        scheduler.shutdown();
+        executor.shutdown();
+        if (rateLimiter != null) {
+            rateLimiter.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Shard " + index;
+    }
+
+}
@@ -0,0 +1,404 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.shard;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.batch.CheckCoalescer;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.monitor.IResultSink;
+import de.florianmichael.checkhost4j.monitor.MonitorService;
+import de.florianmichael.checkhost4j.monitor.MonitorTarget;
+import de.florianmichael.checkhost4j.poll.PollScheduler;
+import de.florianmichael.checkhost4j.poll.PollStrategy;
+import de.florianmichael.checkhost4j.request.AsyncRequester;
+import de.florianmichael.checkhost4j.request.IRequester;
+import de.florianmichael.checkhost4j.request.JavaRequester;
+import de.florianmichael.checkhost4j.request.RateLimitedRequester;
+import de.florianmichael.checkhost4j.util.DaemonThreadFactory;
+import de.florianmichael.checkhost4j.util.TokenBucket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Client splitting its work across independent {@link Shard}s, each with its own requester, request threads, rate budget
+ * and rate limiter thread, poll scheduler and monitor, so shards don't contend on each other's state. Hosts are assigned to
+ * shards using a {@link HashRing}, all checks of a host run on the same shard which keeps coalescing and rate budgets effective.
+ * <p>
+ * Only process-wide parts are shared: the global {@link de.florianmichael.checkhost4j.instrument.Instrumentation} hook,
+ * the {@link de.florianmichael.checkhost4j.util.BufferPool#INSTANCE} and, when using a {@link JavaRequester}, the
+ * keep-alive connection cache of the JVM. Give every shard a requester with its own HTTP client using
+ * {@link Builder#requester(IntFunction)} to separate the connections as well.
+ * <p>
+ * With an {@link ICoordinator}, hosts are first assigned to a member (JVM) using a second ring over the member IDs, so
+ * several JVMs split the monitored targets between them. Every member registers all targets using {@link #monitor(MonitorTarget)},
+ * but only runs the targets it owns; targets move automatically when members join or leave.
+ * <p>
+ * Create instances using {@link #builder()}.
+ */
+public class ShardedCheckHost4J {
+
+    private final List<Shard> shards;
+    private final HashRing<Shard> shardRing;
+    private final ICoordinator coordinator;
+    private final String memberId;
+    private final int virtualNodes;
+    private final Consumer<Set<String>> membershipListener = members -> rebalance();
+
+    private final Object lock = new Object(); // Only guards target registration and rebalancing, never checks
+    private final Map<MonitorTarget, Shard> targets = new HashMap<>();
+    private volatile HashRing<String> memberRing;
+
+    private ShardedCheckHost4J(final List<Shard> shards, final ICoordinator coordinator, final String memberId, final int virtualNodes) {
+        this.shards = Collections.unmodifiableList(shards);
+        this.shardRing = new HashRing<>(shards, shard -> "shard-" + shard.index, virtualNodes);
+        this.coordinator = coordinator;
+        this.memberId = memberId;
+        this.virtualNodes = virtualNodes;
+        if (coordinator != null) {
+            coordinator.addListener(membershipListener);
+            coordinator.join(memberId);
+            rebalance();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param host The host
+     * @return The local shard responsible for the host
+     */
+    public Shard getShard(final String host) {
+        return shardRing.get(host);
+    }
+
+    /**
+     * @param host The host
+     * @return The ID of the member owning the host or null if this client has no coordinator
+     */
+    public String getOwner(final String host) {
+        final HashRing<String> ring = memberRing;
+        return ring == null ? null : ring.get(host);
+    }
+
+    /**
+     * @param host The host
+     * @return True if this member owns the host, always true without coordinator
+     */
+    public boolean isLocal(final String host) {
+        final String owner = getOwner(host);
+        return owner == null || owner.equals(memberId);
+    }
+
+    /**
+     * Submit a check on the shard of the host, regardless of which member owns it
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A future which is completed with the {@link ResultNode}
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final ResultType type, final String host, final int maxNodes) {
+        return getShard(host).getCheckHost().checkAsync(type, host, maxNodes);
+    }
+
+    /**
+     * Submit a check on the shard of the host and poll it using the scheduler of the shard
+     *
+     * @param type     The type of the request (Ping, HTTP, TCP Port, ...)
+     * @param host     The host to check (e.g. google.com)
+     * @param maxNodes The maximum amount of nodes to use
+     * @param strategy The strategy polling the check
+     * @param <T>      The result type, has to match the given {@link ResultType}
+     * @return A future which is completed with the {@link ResultNode} once polling stopped
+     */
+    public <T extends Result> CompletableFuture<ResultNode<T>> checkAsync(final ResultType type, final String host, final int maxNodes, final PollStrategy strategy) {
+        final Shard shard = getShard(host);
+        return shard.getCheckHost().<T>checkAsync(type, host, maxNodes).thenCompose(node -> shard.getScheduler().register(node, strategy));
+    }
+
+    /**
+     * Monitor the given target on the shard of its host if this member owns the host. Registering the same instance twice
+     * has no effect.
+     *
+     * @param target The target
+     */
+    public void monitor(final MonitorTarget target) {
+        synchronized (lock) {
+            if (targets.containsKey(target)) {
+                return;
+            }
+            final Shard shard = isLocal(target.host) ? getShard(target.host) : null;
+            targets.put(target, shard);
+            if (shard != null) {
+                shard.getMonitor().register(target);
+            }
+        }
+    }
+
+    /**
+     * @param target The target
+     * @return True if the target was registered
+     */
+    public boolean unmonitor(final MonitorTarget target) {
+        synchronized (lock) {
+            if (!targets.containsKey(target)) {
+                return false;
+            }
+            final Shard shard = targets.remove(target);
+            if (shard != null) {
+                shard.getMonitor().unregister(target);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return The registered targets this member currently runs
+     */
+    public List<MonitorTarget> getLocalTargets() {
+        synchronized (lock) {
+            final List<MonitorTarget> local = new ArrayList<>();
+            for (Map.Entry<MonitorTarget, Shard> entry : targets.entrySet()) {
+                if (entry.getValue() != null) {
+                    local.add(entry.getKey());
+                }
+            }
+            return local;
+        }
+    }
+
+    /**
+     * @param sink The sink receiving the checks of the monitored targets of all shards
+     */
+    public void addSink(final IResultSink sink) {
+        for (Shard shard : shards) {
+            shard.getMonitor().addSink(sink);
+        }
+    }
+
+    public void removeSink(final IResultSink sink) {
+        for (Shard shard : shards) {
+            shard.getMonitor().removeSink(sink);
+        }
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return The ID of this member or null if this client has no coordinator
+     */
+    public String getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Leave the coordinator, so other members take over the targets of this member, and stop all shards. Checks in flight,
+     * including the futures of {@link #checkAsync(ResultType, String, int, PollStrategy)}, are completed with a
+     * {@link java.util.concurrent.CancellationException}, sinks receive it through {@link IResultSink#onError(MonitorTarget, Throwable)}.
+     */
+    public void shutdown() {
+        if (coordinator != null) {
+            coordinator.removeListener(membershipListener);
+            coordinator.leave(memberId);
+        }
+        synchronized (lock) {
+            targets.clear();
+        }
+        for (Shard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    /**
+     * Rebuild the member ring from the current members and move targets whose owner changed
+     */
+    private void rebalance() {
+        synchronized (lock) {
+            // Always read the latest membership, notifications of concurrent changes might arrive out of order
+            memberRing = new HashRing<>(new ArrayList<>(coordinator.getMembers()), member -> member, virtualNodes);
+            for (Map.Entry<MonitorTarget, Shard> entry : targets.entrySet()) {
+                final MonitorTarget target = entry.getKey();
+                final Shard shard = isLocal(target.host) ? getShard(target.host) : null;
+                if (shard == entry.getValue()) {
+                    continue;
+                }
+                if (entry.getValue() != null) {
+                    entry.getValue().getMonitor().unregister(target);
+                }
+                if (shard != null) {
+                    shard.getMonitor().register(target);
+                }
+                entry.setValue(shard);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private int shards = Runtime.getRuntime().availableProcessors();
+        private IntFunction<IRequester> requester = index -> new JavaRequester(JavaRequester.DEFAULT_AGENT);
+        private int requestThreads = 4;
+        private int pollThreads = 1;
+        private int maxConcurrentPolls = 64;
+        private long submitCapacity;
+        private double submitsPerSecond;
+        private long pollCapacity;
+        private double pollsPerSecond;
+        private long coalesceMillis = -1;
+        private int virtualNodes = HashRing.DEFAULT_VIRTUAL_NODES;
+        private ICoordinator coordinator;
+        private String memberId;
+
+        private Builder() {
+        }
+
+        /**
+         * @param shards The amount of shards, defaults to the amount of processors
+         */
+        public Builder shards(final int shards) {
+            if (shards <= 0) {
+                throw new IllegalArgumentException("Shards have to be positive, got: " + shards);
+            }
+            this.shards = shards;
+            return this;
+        }
+
+        /**
+         * Set the requester of every shard, e.g. to give every shard its own HTTP client and connection pool. Defaults to
+         * a new {@link JavaRequester} per shard, whose connections are pooled by the JVM.
+         *
+         * @param requester Creates the requester of the shard with the given index
+         */
+        public Builder requester(final IntFunction<IRequester> requester) {
+            this.requester = requester;
+            return this;
+        }
+
+        /**
+         * @param requestThreads The amount of threads running the blocking requests of every shard, defaults to 4
+         */
+        public Builder requestThreads(final int requestThreads) {
+            this.requestThreads = requestThreads;
+            return this;
+        }
+
+        /**
+         * @param pollThreads        The amount of poll worker threads of every shard, defaults to 1
+         * @param maxConcurrentPolls The maximum amount of polls in flight per shard, defaults to 64
+         */
+        public Builder polling(final int pollThreads, final int maxConcurrentPolls) {
+            this.pollThreads = pollThreads;
+            this.maxConcurrentPolls = maxConcurrentPolls;
+            return this;
+        }
+
+        /**
+         * Limit the request rate of every shard, see {@link RateLimitedRequester}. Not limited by default.
+         *
+         * @param submitCapacity   The burst of submit requests per shard
+         * @param submitsPerSecond The sustained submit rate per shard
+         * @param pollCapacity     The burst of poll requests per shard
+         * @param pollsPerSecond   The sustained poll rate per shard
+         */
+        public Builder rateLimit(final long submitCapacity, final double submitsPerSecond, final long pollCapacity, final double pollsPerSecond) {
+            this.submitCapacity = submitCapacity;
+            this.submitsPerSecond = submitsPerSecond;
+            this.pollCapacity = pollCapacity;
+            this.pollsPerSecond = pollsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param freshnessMillis Coalesce duplicate checks on every shard, see {@link CheckCoalescer}
+         */
+        public Builder coalescing(final long freshnessMillis) {
+            this.coalesceMillis = freshnessMillis;
+            return this;
+        }
+
+        /**
+         * @param virtualNodes The amount of positions of every shard and member on the hash rings
+         */
+        public Builder virtualNodes(final int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+            return this;
+        }
+
+        /**
+         * Split the hosts between several members (JVMs), every member needs a unique ID
+         *
+         * @param coordinator The coordinator shared by all members
+         * @param memberId    The ID of this member
+         */
+        public Builder coordinator(final ICoordinator coordinator, final String memberId) {
+            this.coordinator = coordinator;
+            this.memberId = memberId;
+            return this;
+        }
+
+        public ShardedCheckHost4J build() {
+            if (coordinator != null && memberId == null) {
+                throw new IllegalStateException("A coordinator requires a member ID");
+            }
+            final List<Shard> shards = new ArrayList<>(this.shards);
+            for (int i = 0; i < this.shards; i++) {
+                shards.add(createShard(i));
+            }
+            return new ShardedCheckHost4J(shards, coordinator, memberId, virtualNodes);
+        }
+
+        private Shard createShard(final int index) {
+            final String name = "CheckHost4J Shard " + index;
+            final ExecutorService executor = Executors.newFixedThreadPool(requestThreads, new DaemonThreadFactory(name + " Requester"));
+            final CheckHost4J checkHost;
+            ScheduledExecutorService rateLimiter = null;
+            if (submitsPerSecond > 0) {
+                final AsyncRequester async = new AsyncRequester(requester.apply(index), executor);
+                rateLimiter = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(name + " Rate Limiter"));
+                checkHost = new CheckHost4J(new RateLimitedRequester(async, new TokenBucket(submitCapacity, submitsPerSecond), new TokenBucket(pollCapacity, pollsPerSecond), rateLimiter));
+            } else {
+                checkHost = new CheckHost4J(requester.apply(index), executor);
+            }
+            if (coalesceMillis >= 0) {
+                checkHost.setCoalescer(new CheckCoalescer(coalesceMillis));
+            }
+            final PollScheduler scheduler = new PollScheduler(pollThreads, maxConcurrentPolls, null);
+            final MonitorService monitor = new MonitorService(checkHost, scheduler, Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(name + " Monitor")), 0.1);
+            return new Shard(index, checkHost, executor, scheduler, monitor, rateLimiter);
+        }
+    }
+
+}
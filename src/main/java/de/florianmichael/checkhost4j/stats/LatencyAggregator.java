@@ -0,0 +1,219 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.stats;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.model.result.HTTPResult;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import de.florianmichael.checkhost4j.model.result.TCPResult;
+import de.florianmichael.checkhost4j.model.result.UDPResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the latencies of successful results per {@link ServerNode} (keyed by the node name), per target and per
+ * {@link ResultType} into {@link SlidingWindowHistogram}s. Results can be recorded directly or by adding the aggregator as
+ * listener to a {@link ResultNode}: {@code resultNode.addListener(aggregator::onResult)}.
+ * <p>
+ * Every histogram takes about 9 KB per slice, so the amount of tracked nodes and targets is capped. Nodes and targets
+ * without samples within the window are evicted once the cap is reached, samples of new keys beyond the cap are only
+ * recorded by type.
+ */
+public class LatencyAggregator {
+
+    public static final int DEFAULT_MAX_KEYS = 256;
+
+    private final long windowMillis;
+    private final int sliceCount;
+    private final int maxKeys;
+
+    private final Map<String, SlidingWindowHistogram> byNode = new ConcurrentHashMap<>();
+    private final Map<String, SlidingWindowHistogram> byTarget = new ConcurrentHashMap<>();
+    private final Map<ResultType, SlidingWindowHistogram> byType = new ConcurrentHashMap<>();
+
+    /**
+     * Create an aggregator with a window of 5 minutes split into 10 slices, tracking up to {@link #DEFAULT_MAX_KEYS}
+     * nodes and targets
+     */
+    public LatencyAggregator() {
+        this(TimeUnit.MINUTES.toMillis(5), 10);
+    }
+
+    /**
+     * @param windowMillis The duration of the sliding window in milliseconds
+     * @param sliceCount   The amount of slices of the window
+     */
+    public LatencyAggregator(final long windowMillis, final int sliceCount) {
+        this(windowMillis, sliceCount, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param windowMillis The duration of the sliding window in milliseconds
+     * @param sliceCount   The amount of slices of the window
+     * @param maxKeys      The maximum amount of tracked nodes and of tracked targets
+     */
+    public LatencyAggregator(final long windowMillis, final int sliceCount, final int maxKeys) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("Max keys have to be positive, got: " + maxKeys);
+        }
+        this.windowMillis = windowMillis;
+        this.sliceCount = sliceCount;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Record the results of all nodes which already reported
+     *
+     * @param resultNode The result node
+     */
+    public void record(final ResultNode<?> resultNode) {
+        for (Map.Entry<ServerNode, ? extends Result> entry : resultNode.getResults().entrySet()) {
+            if (entry.getValue() != null) {
+                record(resultNode.getType(), resultNode.getHost(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Listener variant of {@link #record(ResultType, String, ServerNode, Result)}
+     */
+    public <T extends Result> void onResult(final ResultNode<T> resultNode, final ServerNode node, final T result) {
+        record(resultNode.getType(), resultNode.getHost(), node, result);
+    }
+
+    /**
+     * Record the latencies of a single result, failed results and results without latency (DNS) are ignored
+     *
+     * @param type   The type of the check
+     * @param target The checked host, might be null
+     * @param node   The node which reported the result
+     * @param result The result
+     */
+    public void record(final ResultType type, final String target, final ServerNode node, final Result result) {
+        final SlidingWindowHistogram nodeHistogram = histogram(byNode, node.name);
+        final SlidingWindowHistogram targetHistogram = target == null ? null : histogram(byTarget, target);
+        final SlidingWindowHistogram typeHistogram = byType.computeIfAbsent(type, k -> newHistogram());
+
+        if (result instanceof PingResult) {
+            final PingResult ping = (PingResult) result;
+            for (int i = 0; i < ping.getTotalPings(); i++) {
+                if (ping.isSuccessful(i)) {
+                    record(ping.getPing(i), nodeHistogram, targetHistogram, typeHistogram);
+                }
+            }
+        } else if (result.isSuccessful()) {
+            final double latency;
+            if (result instanceof HTTPResult) {
+                latency = ((HTTPResult) result).ping;
+            } else if (result instanceof TCPResult) {
+                latency = ((TCPResult) result).ping;
+            } else if (result instanceof UDPResult) {
+                latency = ((UDPResult) result).ping;
+            } else {
+                return;
+            }
+            record(latency, nodeHistogram, targetHistogram, typeHistogram);
+        }
+    }
+
+    /**
+     * @param node The node
+     * @return A snapshot of the latencies reported by the node within the window
+     */
+    public LatencyHistogram getByNode(final ServerNode node) {
+        return getByNode(node.name);
+    }
+
+    /**
+     * @param name The name of the node
+     * @return A snapshot of the latencies reported by the node within the window
+     */
+    public LatencyHistogram getByNode(final String name) {
+        return snapshot(byNode.get(name));
+    }
+
+    /**
+     * @param target The checked host
+     * @return A snapshot of the latencies reported for the target within the window
+     */
+    public LatencyHistogram getByTarget(final String target) {
+        return snapshot(byTarget.get(target));
+    }
+
+    /**
+     * @param type The type of the check
+     * @return A snapshot of the latencies reported for checks of the type within the window
+     */
+    public LatencyHistogram getByType(final ResultType type) {
+        return snapshot(byType.get(type));
+    }
+
+    /**
+     * @return The amount of nodes currently tracked
+     */
+    public int getNodeCount() {
+        return byNode.size();
+    }
+
+    /**
+     * @return The amount of targets currently tracked
+     */
+    public int getTargetCount() {
+        return byTarget.size();
+    }
+
+    /**
+     * @return The histogram of the key or null if the cap is reached and no idle key could be evicted
+     */
+    private SlidingWindowHistogram histogram(final Map<String, SlidingWindowHistogram> histograms, final String key) {
+        final SlidingWindowHistogram histogram = histograms.get(key);
+        if (histogram != null) {
+            return histogram;
+        }
+        if (histograms.size() >= maxKeys) {
+            // A sample recorded concurrently into an evicted histogram is lost, which is fine for idle keys
+            histograms.values().removeIf(SlidingWindowHistogram::isIdle);
+            if (histograms.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return histograms.computeIfAbsent(key, k -> newHistogram());
+    }
+
+    private SlidingWindowHistogram newHistogram() {
+        return new SlidingWindowHistogram(windowMillis, sliceCount);
+    }
+
+    private static void record(final double latency, final SlidingWindowHistogram... histograms) {
+        for (SlidingWindowHistogram histogram : histograms) {
+            if (histogram != null) {
+                histogram.record(latency);
+            }
+        }
+    }
+
+    private static LatencyHistogram snapshot(final SlidingWindowHistogram histogram) {
+        return histogram == null ? new LatencyHistogram() : histogram.snapshot();
+    }
+
+}
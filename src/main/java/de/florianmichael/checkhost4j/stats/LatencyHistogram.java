@@ -0,0 +1,160 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.stats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed memory, log-linear bucketed latency histogram similar to HdrHistogram. Values are recorded in microseconds, every
+ * power of two range is split into {@value #SUB_BUCKETS} linear sub buckets which bounds the relative error of reported
+ * percentiles to about 3%. Histograms are thread-safe for recording and can be merged, so they can be aggregated across
+ * nodes, targets and time windows without keeping raw samples.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_BITS = 40; // ~12 days in microseconds
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+    private static final int BUCKETS = SUB_BUCKETS * (MAX_BITS - SUB_BITS + 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Record a latency as reported by the API
+     *
+     * @param seconds The latency in seconds, negative values are ignored
+     */
+    public void record(final double seconds) {
+        if (seconds >= 0) {
+            recordMicros((long) (seconds * TimeUnit.SECONDS.toMicros(1)));
+        }
+    }
+
+    /**
+     * @param micros The latency in microseconds, values higher than the supported maximum are clamped
+     */
+    public void recordMicros(final long micros) {
+        final long value = Math.max(0, Math.min(MAX_VALUE, micros));
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+    }
+
+    /**
+     * Add all samples of the given histogram to this one
+     *
+     * @param other The histogram to merge
+     */
+    public void merge(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            final long value = other.counts.get(i);
+            if (value != 0) {
+                counts.addAndGet(i, value);
+            }
+        }
+        count.addAndGet(other.count.get());
+        sum.addAndGet(other.sum.get());
+    }
+
+    /**
+     * Remove all samples, samples recorded concurrently might get lost
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 100 (e.g. 99.9)
+     * @return The latency in seconds at the given percentile or -1 if no samples have been recorded
+     */
+    public double getPercentile(final double percentile) {
+        final long total = count.get();
+        if (total == 0) {
+            return -1;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return toSeconds(midpoint(i));
+            }
+        }
+        return toSeconds(midpoint(BUCKETS - 1));
+    }
+
+    public double getP50() {
+        return getPercentile(50);
+    }
+
+    public double getP90() {
+        return getPercentile(90);
+    }
+
+    public double getP99() {
+        return getPercentile(99);
+    }
+
+    public double getP999() {
+        return getPercentile(99.9);
+    }
+
+    /**
+     * @return The average latency in seconds or -1 if no samples have been recorded
+     */
+    public double getMean() {
+        final long total = count.get();
+        return total == 0 ? -1 : toSeconds(sum.get() / (double) total);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    private static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        final int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS * (shift + 1) + sub;
+    }
+
+    private static double midpoint(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1) / 2.0;
+    }
+
+    private static double toSeconds(final double micros) {
+        return micros / TimeUnit.SECONDS.toMicros(1);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.stats;
+
+/**
+ * Histogram covering only the most recent samples. The window is split into slices, each backed by its own
+ * {@link LatencyHistogram} which is reset once its time slot is reused, so the memory usage stays fixed.
+ */
+public class SlidingWindowHistogram {
+
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    /**
+     * @param windowMillis The duration of the window in milliseconds
+     * @param sliceCount   The amount of slices, more slices make the window move more smoothly
+     */
+    public SlidingWindowHistogram(final long windowMillis, final int sliceCount) {
+        if (windowMillis <= 0 || sliceCount <= 0 || windowMillis < sliceCount) {
+            throw new IllegalArgumentException("Invalid window: " + windowMillis + "ms/" + sliceCount + " slices");
+        }
+        this.sliceMillis = windowMillis / sliceCount;
+        this.slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * @param seconds The latency in seconds, negative values are ignored
+     */
+    public void record(final double seconds) {
+        current().histogram.record(seconds);
+    }
+
+    /**
+     * @return A new histogram containing all samples of the window
+     */
+    public LatencyHistogram snapshot() {
+        final long epoch = System.currentTimeMillis() / sliceMillis;
+        final LatencyHistogram snapshot = new LatencyHistogram();
+        for (Slice slice : slices) {
+            if (epoch - slice.epoch < slices.length) {
+                snapshot.merge(slice.histogram);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return True if no samples have been recorded within the window
+     */
+    public boolean isIdle() {
+        final long epoch = System.currentTimeMillis() / sliceMillis;
+        for (Slice slice : slices) {
+            if (epoch - slice.epoch < slices.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Slice current() {
+        final long epoch = System.currentTimeMillis() / sliceMillis;
+        final Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch != epoch) {
+            synchronized (slice) {
+                if (slice.epoch != epoch) {
+                    slice.histogram.reset();
+                    slice.epoch = epoch;
+                }
+            }
+        }
+        return slice;
+    }
+
+    private static class Slice {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile long epoch = -1;
+    }
+
+}
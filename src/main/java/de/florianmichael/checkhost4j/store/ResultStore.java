@@ -0,0 +1,360 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.store;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.util.ByteBufferInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
+
+/**
+ * Persistent, append-only store of check results. Results are appended to a log split into segments of a bounded size,
+ * reads use memory mappings of the segments. Every segment keeps an index by target and time, so range queries for a
+ * target only decode the matching records and skip segments outside of the requested time range.
+ * <p>
+ * Results can be appended as they arrive by registering the store as listener: {@code resultNode.addListener(store::onResult)}.
+ * The store is thread-safe, records are written to the operating system immediately and can be forced to disk using
+ * {@link #flush()}. A torn record at the end of the log (e.g. after a crash) is discarded when opening the store.
+ */
+public class ResultStore implements Closeable {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+
+    private final RecordBuffer buffer = new RecordBuffer();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final CRC32 crc = new CRC32();
+
+    private Segment active;
+    private boolean closed;
+
+    public ResultStore(final Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param directory   The directory containing the segments, created if it doesn't exist
+     * @param segmentSize The size in bytes after which a new segment is started
+     * @throws IOException If the existing segments can't be read
+     */
+    public ResultStore(final Path directory, final long segmentSize) throws IOException {
+        if (segmentSize <= Segment.HEADER_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size has to be between " + Segment.HEADER_SIZE + " and " + Integer.MAX_VALUE + ", got: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        final List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+            for (Path file : stream) {
+                final String name = file.getFileName().toString();
+                ids.add(Long.parseLong(name.substring(0, name.length() - ".log".length())));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Unexpected file in store directory " + directory, e);
+        }
+        ids.sort(Long::compare);
+        for (int i = 0; i < ids.size(); i++) {
+            final Segment segment = new Segment(directory, ids.get(i));
+            segment.open(i == ids.size() - 1);
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            active = segments.get(segments.size() - 1);
+        }
+    }
+
+    /**
+     * Append a single result
+     *
+     * @param timestamp The time of the result in milliseconds since the epoch
+     * @param requestId The request id of the check
+     * @param type      The type of the check
+     * @param target    The checked host
+     * @param node      The node which reported the result
+     * @param result    The result
+     * @throws IOException If writing fails
+     */
+    public synchronized void append(final long timestamp, final String requestId, final ResultType type, final String target, final ServerNode node, final Result result) throws IOException {
+        ensureOpen();
+        buffer.reset();
+        buffer.skipHeader();
+        out.writeLong(timestamp);
+        out.writeByte(type.tag());
+        out.writeUTF(requestId);
+        writeOptString(out, target);
+        node.write(out);
+        result.write(out);
+        out.flush();
+
+        final ByteBuffer record = buffer.toRecord(crc);
+        if (active.getCount() > 0 && active.getSize() + record.remaining() > segmentSize) {
+            roll();
+        }
+        active.append(record, target, timestamp);
+    }
+
+    /**
+     * Append all results of the given node which already reported, using the current time
+     *
+     * @param resultNode The result node
+     * @throws IOException If writing fails
+     */
+    public void append(final ResultNode<?> resultNode) throws IOException {
+        final long now = System.currentTimeMillis();
+        for (Map.Entry<ServerNode, ? extends Result> entry : resultNode.getResults().entrySet()) {
+            if (entry.getValue() != null) {
+                append(now, resultNode.getRequestId(), resultNode.getType(), resultNode.getHost(), entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Append a single result as it arrives, can be used as {@link de.florianmichael.checkhost4j.model.IResultListener}
+     *
+     * @throws UncheckedIOException If writing fails
+     */
+    public <T extends Result> void onResult(final ResultNode<T> resultNode, final ServerNode node, final T result) {
+        try {
+            append(System.currentTimeMillis(), resultNode.getRequestId(), resultNode.getType(), resultNode.getHost(), node, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param target The checked host
+     * @param from   The first timestamp, inclusive
+     * @param to     The last timestamp, exclusive
+     * @return All results of the target in the given time range, in the order they have been appended
+     * @throws IOException If reading fails
+     */
+    public List<StoredResult> query(final String target, final long from, final long to) throws IOException {
+        final List<StoredResult> results = new ArrayList<>();
+        forEach(target, from, to, results::add);
+        return results;
+    }
+
+    /**
+     * @param from The first timestamp, inclusive
+     * @param to   The last timestamp, exclusive
+     * @return All results in the given time range, in the order they have been appended
+     * @throws IOException If reading fails
+     */
+    public List<StoredResult> query(final long from, final long to) throws IOException {
+        final List<StoredResult> results = new ArrayList<>();
+        forEach(null, from, to, results::add);
+        return results;
+    }
+
+    /**
+     * Stream the results in the given time range without collecting them, records are decoded outside of the lock so
+     * appends aren't blocked while reading
+     *
+     * @param target   The checked host or null for all hosts
+     * @param from     The first timestamp, inclusive
+     * @param to       The last timestamp, exclusive
+     * @param consumer The consumer receiving the results in the order they have been appended
+     * @throws IOException If reading fails
+     */
+    public void forEach(final String target, final long from, final long to, final Consumer<StoredResult> consumer) throws IOException {
+        final List<ByteBuffer> views = new ArrayList<>();
+        final List<int[]> positions = new ArrayList<>();
+        synchronized (this) {
+            ensureOpen();
+            for (Segment segment : segments) {
+                if (!segment.overlaps(from, to)) {
+                    continue;
+                }
+                views.add(segment.map());
+                positions.add(target == null ? null : segment.find(target, from, to));
+            }
+        }
+        for (int i = 0; i < views.size(); i++) {
+            final ByteBuffer view = views.get(i);
+            final int[] matches = positions.get(i);
+            if (matches != null) {
+                for (int position : matches) {
+                    consumer.accept(read(view, position));
+                }
+                continue;
+            }
+            int position = Segment.HEADER_SIZE;
+            while (position < view.limit()) {
+                final long timestamp = view.getLong(position + Segment.RECORD_HEADER_SIZE);
+                if (timestamp >= from && timestamp < to) {
+                    consumer.accept(read(view, position));
+                }
+                position += Segment.RECORD_HEADER_SIZE + view.getInt(position);
+            }
+        }
+    }
+
+    /**
+     * Delete all segments which only contain results older than the given time, the active segment is never deleted
+     *
+     * @param timestamp The time in milliseconds since the epoch
+     * @return The amount of deleted segments
+     * @throws IOException If deleting fails
+     */
+    public synchronized int deleteBefore(final long timestamp) throws IOException {
+        ensureOpen();
+        int deleted = 0;
+        for (Iterator<Segment> iterator = segments.iterator(); iterator.hasNext(); ) {
+            final Segment segment = iterator.next();
+            if (segment != active && segment.getMaxTime() < timestamp) {
+                segment.close();
+                Files.deleteIfExists(segment.index);
+                Files.delete(segment.log);
+                iterator.remove();
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Force all appended results to disk
+     *
+     * @throws IOException If writing fails
+     */
+    public synchronized void flush() throws IOException {
+        ensureOpen();
+        active.force();
+    }
+
+    /**
+     * @return The amount of stored results
+     */
+    public synchronized long getRecordCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.getCount();
+        }
+        return count;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Seal the active segment and release all files, the store can't be used afterwards
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            active.seal();
+            for (Segment segment : segments) {
+                segment.close();
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            active.seal();
+        }
+        final Segment segment = new Segment(directory, active == null ? 0 : active.id + 1);
+        segment.create();
+        segments.add(segment);
+        active = segment;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Store has been closed");
+        }
+    }
+
+    private static StoredResult read(final ByteBuffer view, final int position) throws IOException {
+        final ByteBuffer payload = Segment.slice(view, position + Segment.RECORD_HEADER_SIZE, view.getInt(position));
+        final DataInputStream in = new DataInputStream(new ByteBufferInputStream(payload));
+        final long timestamp = in.readLong();
+        final int tag = in.readUnsignedByte();
+        final ResultType type = ResultType.byTag(tag);
+        if (type == null) {
+            throw new IOException("Unknown result type: " + tag);
+        }
+        final String requestId = in.readUTF();
+        final String target = readOptString(in);
+        final ServerNode node = ServerNode.read(in);
+        final Result result;
+        try {
+            result = type.read(in);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+        return new StoredResult(timestamp, requestId, type, target, node, result);
+    }
+
+    /**
+     * Buffer reserving space for the record header, so the framed record can be written without copying the payload
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+
+        void skipHeader() {
+            count = Segment.RECORD_HEADER_SIZE;
+        }
+
+        ByteBuffer toRecord(final CRC32 crc) {
+            final int length = count - Segment.RECORD_HEADER_SIZE;
+            crc.reset();
+            crc.update(buf, Segment.RECORD_HEADER_SIZE, length);
+            final ByteBuffer record = ByteBuffer.wrap(buf, 0, count);
+            record.putInt(0, length);
+            record.putInt(4, (int) crc.getValue());
+            return record;
+        }
+
+    }
+
+}
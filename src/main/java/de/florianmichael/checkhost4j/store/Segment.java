@@ -0,0 +1,342 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.store;
+
+import de.florianmichael.checkhost4j.util.ByteBufferInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static de.florianmichael.checkhost4j.util.BinaryIO.*;
+
+/**
+ * A single file of the {@link ResultStore} log. Records are framed as {@code [int length][int crc32][payload]}, the payload
+ * starts with the timestamp, the {@link de.florianmichael.checkhost4j.model.ResultType#tag()} and the target so the index can be rebuilt without decoding the results. The index
+ * maps every target to the positions and timestamps of its records and is written next to the log once the segment is sealed.
+ */
+class Segment {
+
+    static final int MAGIC = 0x43483441; // CH4A
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    final long id;
+    final Path log;
+    final Path index;
+
+    private final Map<String, Postings> byTarget = new HashMap<>();
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+    private int count;
+    private long size;
+
+    private FileChannel channel; // Only open while the segment is active
+    private MappedByteBuffer mapped;
+
+    Segment(final Path directory, final long id) {
+        this.id = id;
+        this.log = directory.resolve(String.format("%020d.log", id));
+        this.index = directory.resolve(String.format("%020d.idx", id));
+    }
+
+    /**
+     * Create a new empty segment which accepts appends
+     */
+    void create() throws IOException {
+        channel = FileChannel.open(log, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        size = HEADER_SIZE;
+    }
+
+    /**
+     * Open an existing segment, the index is loaded from disk if it matches the log or rebuilt by scanning the log
+     *
+     * @param active True if the segment should accept appends, a torn record at the end of the log is truncated and a torn
+     *               header is written again
+     */
+    void open(final boolean active) throws IOException {
+        size = Files.size(log);
+        if (active && size < HEADER_SIZE) {
+            // Crashed between creating the file and writing its header, the segment can't contain any records yet
+            channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.truncate(0);
+            writeHeader();
+            return;
+        }
+        if (active || !readIndex()) {
+            size = scan();
+            if (active) {
+                channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.truncate(size);
+            } else {
+                writeIndex();
+            }
+        }
+    }
+
+    /**
+     * Append a framed record
+     *
+     * @param record    The record header and payload
+     * @param target    The target of the record
+     * @param timestamp The timestamp of the record
+     */
+    void append(final ByteBuffer record, final String target, final long timestamp) throws IOException {
+        final int position = (int) size;
+        final int length = record.remaining();
+        while (record.hasRemaining()) {
+            channel.write(record, size + length - record.remaining());
+        }
+        size += length;
+        index(target, position, timestamp);
+    }
+
+    /**
+     * Stop accepting appends and persist the index
+     */
+    void seal() throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+            channel = null;
+            writeIndex();
+        }
+    }
+
+    void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * @return A read-only view of all records written so far, backed by a memory mapping of the log
+     */
+    ByteBuffer map() throws IOException {
+        if (mapped == null || mapped.capacity() < size) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        final ByteBuffer buffer = mapped.duplicate();
+        buffer.limit((int) size);
+        return buffer;
+    }
+
+    /**
+     * @param target The target or null for all targets
+     * @param from   The first timestamp, inclusive
+     * @param to     The last timestamp, exclusive
+     * @return The positions of the matching records in ascending order
+     */
+    int[] find(final String target, final long from, final long to) {
+        if (count == 0 || maxTime < from || minTime >= to) {
+            return new int[0];
+        }
+        final Postings postings = byTarget.get(key(target));
+        return postings == null ? new int[0] : postings.find(from, to);
+    }
+
+    boolean overlaps(final long from, final long to) {
+        return count != 0 && maxTime >= from && minTime < to;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getMaxTime() {
+        return maxTime;
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void index(final String target, final int position, final long timestamp) {
+        byTarget.computeIfAbsent(key(target), k -> new Postings()).add(position, timestamp);
+        minTime = Math.min(minTime, timestamp);
+        maxTime = Math.max(maxTime, timestamp);
+        count++;
+    }
+
+    /**
+     * Rebuild the index from the log
+     *
+     * @return The size of the valid part of the log, records after a torn or corrupted record are ignored
+     */
+    private long scan() throws IOException {
+        if (size < HEADER_SIZE) {
+            throw new IOException("Segment " + log + " is too small");
+        }
+        final ByteBuffer buffer = map();
+        if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            throw new IOException("Segment " + log + " has an unknown format");
+        }
+        final CRC32 crc = new CRC32();
+        int position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+            final int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + (long) length > buffer.limit()) {
+                break;
+            }
+            final ByteBuffer payload = slice(buffer, position + RECORD_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            final DataInputStream in = new DataInputStream(new ByteBufferInputStream(payload));
+            final long timestamp = in.readLong();
+            in.readByte(); // Type
+            in.readUTF(); // Request id
+            index(readOptString(in), position, timestamp);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        mapped = null;
+        return position;
+    }
+
+    private boolean readIndex() throws IOException {
+        if (!Files.exists(index)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != size) {
+                return false;
+            }
+            minTime = in.readLong();
+            maxTime = in.readLong();
+            count = in.readInt();
+            final int targets = in.readInt();
+            for (int i = 0; i < targets; i++) {
+                final String target = in.readUTF();
+                final Postings postings = new Postings();
+                final int entries = in.readInt();
+                for (int k = 0; k < entries; k++) {
+                    postings.add(in.readInt(), in.readLong());
+                }
+                byTarget.put(target, postings);
+            }
+            return true;
+        } catch (IOException e) {
+            byTarget.clear();
+            minTime = Long.MAX_VALUE;
+            maxTime = Long.MIN_VALUE;
+            count = 0;
+            return false;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(size);
+            out.writeLong(minTime);
+            out.writeLong(maxTime);
+            out.writeInt(count);
+            out.writeInt(byTarget.size());
+            for (Map.Entry<String, Postings> entry : byTarget.entrySet()) {
+                final Postings postings = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(postings.size);
+                for (int i = 0; i < postings.size; i++) {
+                    out.writeInt(postings.positions[i]);
+                    out.writeLong(postings.timestamps[i]);
+                }
+            }
+        }
+    }
+
+    static ByteBuffer slice(final ByteBuffer buffer, final int position, final int length) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length).position(position);
+        return slice.slice();
+    }
+
+    private static String key(final String target) {
+        return target == null ? "" : target;
+    }
+
+    /**
+     * Positions and timestamps of the records of a single target, in the order they have been appended
+     */
+    private static class Postings {
+
+        private int size;
+        private int[] positions = new int[4];
+        private long[] timestamps = new long[4];
+
+        void add(final int position, final long timestamp) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+            }
+            positions[size] = position;
+            timestamps[size] = timestamp;
+            size++;
+        }
+
+        int[] find(final long from, final long to) {
+            int[] result = new int[Math.min(size, 16)];
+            int found = 0;
+            for (int i = 0; i < size; i++) {
+                final long timestamp = timestamps[i];
+                if (timestamp >= from && timestamp < to) {
+                    if (found == result.length) {
+                        result = Arrays.copyOf(result, Math.max(16, found * 2));
+                    }
+                    result[found++] = positions[i];
+                }
+            }
+            return found == result.length ? result : Arrays.copyOf(result, found);
+        }
+
+    }
+
+}
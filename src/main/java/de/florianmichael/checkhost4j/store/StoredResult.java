@@ -0,0 +1,50 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.store;
+
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+
+/**
+ * A single result read from a {@link ResultStore}
+ */
+public class StoredResult {
+
+    public final long timestamp;
+    public final String requestId;
+    public final ResultType type;
+    public final String target;
+    public final ServerNode node;
+    public final Result result;
+
+    StoredResult(final long timestamp, final String requestId, final ResultType type, final String target, final ServerNode node, final Result result) {
+        this.timestamp = timestamp;
+        this.requestId = requestId;
+        this.type = type;
+        this.target = target;
+        this.node = node;
+        this.result = result;
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + " " + type.identifier() + ":" + target + " " + node.name + " " + (result.isSuccessful() ? "successful" : "failed");
+    }
+
+}
@@ -18,33 +18,211 @@
 package de.florianmichael.checkhost4j.util;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import de.florianmichael.checkhost4j.instrument.IInstrumentation;
+import de.florianmichael.checkhost4j.instrument.Instrumentation;
+import de.florianmichael.checkhost4j.request.IAsyncRequester;
 import de.florianmichael.checkhost4j.request.IRequester;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static de.florianmichael.checkhost4j.util.JsonParser.GSON;
 
 /**
- * Wrapper class file for API requests, methods here will return raw JSON data. Do not use, see {@link de.florianmichael.checkhost4j.CheckHost4J} for convenience methods.
+ * Wrapper class file for API requests, methods here will return raw JSON data or hand the response to a streaming decoder.
+ * Do not use, see {@link de.florianmichael.checkhost4j.CheckHost4J} for convenience methods.
  */
 public class CHRequests {
 
     public static final URI ROOT_URL = URI.create("https://check-host.net");
 
     public static JsonObject getServers(final IRequester requester, final String type, final String target, final int maxNodes) throws Exception {
-        final String result = requester.get(URI.create(ROOT_URL + "/check-" + type + "?host=" + encode(target) + "&max_nodes=" + maxNodes));
+        final String result = requester.get(getServersURI(type, target, maxNodes));
 
         return GSON.fromJson(result, JsonObject.class);
     }
 
     public static JsonObject checkResult(final IRequester requester, final String requestId) throws Exception {
-        final String result = requester.get(URI.create(ROOT_URL + "/check-result/" + encode(requestId)));
+        final String result = requester.get(checkResultURI(requestId));
 
         return GSON.fromJson(result, JsonObject.class);
     }
 
+    public static CompletableFuture<JsonObject> getServersAsync(final IAsyncRequester requester, final String type, final String target, final int maxNodes) {
+        final URI uri;
+        try {
+            uri = getServersURI(type, target, maxNodes);
+        } catch (UnsupportedEncodingException e) {
+            return Futures.failed(e);
+        }
+        return requester.getAsync(uri).thenApply(result -> GSON.fromJson(result, JsonObject.class));
+    }
+
+    public static CompletableFuture<JsonObject> checkResultAsync(final IAsyncRequester requester, final String requestId) {
+        final URI uri;
+        try {
+            uri = checkResultURI(requestId);
+        } catch (UnsupportedEncodingException e) {
+            return Futures.failed(e);
+        }
+        return requester.getAsync(uri).thenApply(result -> GSON.fromJson(result, JsonObject.class));
+    }
+
+    public static <T> T getServers(final IRequester requester, final String type, final String target, final int maxNodes, final TFunction<JsonReader, T> decoder) throws Exception {
+        return read(requester, getServersURI(type, target, maxNodes), decoder);
+    }
+
+    public static <T> T getServers(final IRequester requester, final String type, final String target, final Collection<String> nodes, final TFunction<JsonReader, T> decoder) throws Exception {
+        return read(requester, getServersURI(type, target, nodes), decoder);
+    }
+
+    public static <T> T getNodes(final IRequester requester, final TFunction<JsonReader, T> decoder) throws Exception {
+        return read(requester, nodesURI(), decoder);
+    }
+
+    public static <T> T checkResult(final IRequester requester, final String requestId, final TFunction<JsonReader, T> decoder) throws Exception {
+        return read(requester, checkResultURI(requestId), decoder);
+    }
+
+    public static <T> CompletableFuture<T> getServersAsync(final IAsyncRequester requester, final String type, final String target, final int maxNodes, final TFunction<JsonReader, T> decoder) {
+        try {
+            return readAsync(requester, getServersURI(type, target, maxNodes), decoder);
+        } catch (UnsupportedEncodingException e) {
+            return Futures.failed(e);
+        }
+    }
+
+    public static <T> CompletableFuture<T> getServersAsync(final IAsyncRequester requester, final String type, final String target, final Collection<String> nodes, final TFunction<JsonReader, T> decoder) {
+        try {
+            return readAsync(requester, getServersURI(type, target, nodes), decoder);
+        } catch (UnsupportedEncodingException e) {
+            return Futures.failed(e);
+        }
+    }
+
+    public static <T> CompletableFuture<T> getNodesAsync(final IAsyncRequester requester, final TFunction<JsonReader, T> decoder) {
+        return readAsync(requester, nodesURI(), decoder);
+    }
+
+    public static <T> CompletableFuture<T> checkResultAsync(final IAsyncRequester requester, final String requestId, final TFunction<JsonReader, T> decoder) {
+        try {
+            return readAsync(requester, checkResultURI(requestId), decoder);
+        } catch (UnsupportedEncodingException e) {
+            return Futures.failed(e);
+        }
+    }
+
+    /**
+     * Request the given URI and hand the response body to the decoder without building a JSON tree or a String first.
+     * Both stages are reported to the installed {@link IInstrumentation}.
+     *
+     * @param requester The requester to use
+     * @param target    The URI to request
+     * @param decoder   The decoder reading the response
+     * @param <T>       The decoded type
+     * @return The decoded response
+     * @throws Exception If the request or decoding fails
+     */
+    public static <T> T read(final IRequester requester, final URI target, final TFunction<JsonReader, T> decoder) throws Exception {
+        final IInstrumentation instrumentation = Instrumentation.get();
+        if (instrumentation == Instrumentation.NONE) {
+            try (JsonReader reader = JsonParser.newReader(requester.getStream(target))) {
+                return decoder.apply(reader);
+            }
+        }
+        final String endpoint = Instrumentation.endpoint(target);
+        long start = System.nanoTime();
+        final InputStream stream;
+        try {
+            stream = requester.getStream(target);
+        } catch (Exception e) {
+            instrumentation.onRequest(endpoint, System.nanoTime() - start, true);
+            throw e;
+        }
+        instrumentation.onRequest(endpoint, System.nanoTime() - start, false);
+
+        final CountingInputStream counting = new CountingInputStream(stream);
+        start = System.nanoTime();
+        try (JsonReader reader = JsonParser.newReader(counting)) {
+            return decoder.apply(reader);
+        } finally {
+            instrumentation.onDecode(endpoint, System.nanoTime() - start, counting.getCount());
+        }
+    }
+
+    /**
+     * Async variant of {@link #read(IRequester, URI, TFunction)}, the response is handed to the decoder using
+     * {@link IAsyncRequester#getAsync(URI, TFunction)} so requesters can decode it while it's being read
+     *
+     * @param requester The requester to use
+     * @param target    The URI to request
+     * @param decoder   The decoder reading the response
+     * @param <T>       The decoded type
+     * @return A future which is completed with the decoded response
+     */
+    public static <T> CompletableFuture<T> readAsync(final IAsyncRequester requester, final URI target, final TFunction<JsonReader, T> decoder) {
+        final IInstrumentation instrumentation = Instrumentation.get();
+        if (instrumentation == Instrumentation.NONE) {
+            return requester.getAsync(target, reader -> decoder.apply(new JsonReader(reader)));
+        }
+        final String endpoint = Instrumentation.endpoint(target);
+        final long start = System.nanoTime();
+        final AtomicBoolean received = new AtomicBoolean();
+        return requester.getAsync(target, reader -> {
+            final long decodeStart = System.nanoTime();
+            received.set(true);
+            instrumentation.onRequest(endpoint, decodeStart - start, false);
+            try {
+                return decoder.apply(new JsonReader(reader));
+            } finally {
+                final long bytes = reader instanceof Utf8StreamReader ? ((Utf8StreamReader) reader).getBytesRead() : -1;
+                instrumentation.onDecode(endpoint, System.nanoTime() - decodeStart, bytes);
+            }
+        }).whenComplete((result, throwable) -> {
+            if (throwable != null && !received.get()) {
+                instrumentation.onRequest(endpoint, System.nanoTime() - start, true);
+            }
+        });
+    }
+
+    public static URI getServersURI(final String type, final String target, final int maxNodes) throws UnsupportedEncodingException {
+        return URI.create(ROOT_URL + "/check-" + type + "?host=" + encode(target) + "&max_nodes=" + maxNodes);
+    }
+
+    /**
+     * @param type   The type of the check
+     * @param target The host to check
+     * @param nodes  The names of the nodes which should run the check
+     * @return The URI submitting a check to the given nodes instead of letting check-host choose them
+     */
+    public static URI getServersURI(final String type, final String target, final Collection<String> nodes) throws UnsupportedEncodingException {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        final StringBuilder uri = new StringBuilder(ROOT_URL + "/check-" + type + "?host=" + encode(target));
+        for (String node : nodes) {
+            uri.append("&node=").append(encode(node));
+        }
+        return URI.create(uri.toString());
+    }
+
+    /**
+     * @return The URI listing all check-host nodes with their location, IP and AS
+     */
+    public static URI nodesURI() {
+        return URI.create(ROOT_URL + "/nodes/hosts");
+    }
+
+    public static URI checkResultURI(final String requestId) throws UnsupportedEncodingException {
+        return URI.create(ROOT_URL + "/check-result/" + encode(requestId));
+    }
+
     public static String encode(final String input) throws UnsupportedEncodingException {
         return URLEncoder.encode(input, "UTF-8");
     }
@@ -0,0 +1,73 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Utility class for working with {@link CompletableFuture}s and functions which throw checked exceptions
+ */
+public class Futures {
+
+    /**
+     * Apply the given function to the result of the future, exceptions thrown by the function will complete the returned future exceptionally
+     *
+     * @param future   The future
+     * @param function The function to apply
+     * @param <K>      The result type of the future
+     * @param <V>      The result type of the function
+     * @return A new future with the result of the function
+     */
+    public static <K, V> CompletableFuture<V> map(final CompletableFuture<K> future, final TFunction<K, V> function) {
+        return future.thenApply(value -> {
+            try {
+                return function.apply(value);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Java 8 compatible replacement for CompletableFuture#failedFuture
+     *
+     * @param throwable The cause
+     * @param <T>       The result type
+     * @return A future which is already completed exceptionally
+     */
+    public static <T> CompletableFuture<T> failed(final Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Unwrap the cause of a {@link CompletionException}, other throwables are returned as is
+     *
+     * @param throwable The throwable
+     * @return The actual cause
+     */
+    public static Throwable unwrap(final Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer which schedules tasks into the buckets of a wheel instead of a priority queue, making scheduling and expiring
+ * O(1) regardless of how many tasks are pending. Tasks are only accurate up to the tick duration and executed on the
+ * given executor, the timer thread itself never runs tasks.
+ */
+public class HashedWheelTimer {
+
+    private final long tickNanos;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private final long startTime;
+    private long tick;
+
+    /**
+     * @param name       The name of the timer thread
+     * @param tick       The duration of a single tick
+     * @param unit       The unit of the tick duration
+     * @param wheelSize  The amount of buckets, will be rounded up to the next power of two
+     * @param executor   The executor running the expired tasks
+     */
+    public HashedWheelTimer(final String name, final long tick, final TimeUnit unit, final int wheelSize, final Executor executor) {
+        if (tick <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size have to be positive, got: " + tick + "/" + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tick);
+        final int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = newWheel(Math.max(1, size));
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = wheel.length - 1;
+        this.executor = executor;
+
+        this.startTime = System.nanoTime();
+        this.thread = new DaemonThreadFactory(name).newThread(this::run);
+        this.thread.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Timeout>[] newWheel(final int size) {
+        return (List<Timeout>[]) new List<?>[size];
+    }
+
+    /**
+     * Schedule a task to be executed after the given delay
+     *
+     * @param task  The task
+     * @param delay The delay
+     * @param unit  The unit of the delay
+     * @return A handle which can be used to cancel the task
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        final Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the timer, pending tasks will not be executed anymore
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void run() {
+        while (running) {
+            final long sleep = startTime + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    continue; // Check if the timer got stopped
+                }
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            final long ticks = Math.max(tick, (timeout.deadline - startTime) / tickNanos);
+            timeout.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(final List<Timeout> bucket) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            final Timeout timeout = bucket.get(i);
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds <= 0) {
+                try {
+                    executor.execute(timeout.task);
+                } catch (RuntimeException ignored) {
+                    // Executor has been shut down or is saturated, don't let it kill the timer thread
+                }
+            } else {
+                timeout.rounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    public static class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+        private long rounds;
+
+        private Timeout(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+}
@@ -21,9 +21,14 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
- * Utility class for parsing JSON objects and arrays
+ * Utility class for parsing JSON objects and arrays, either from a parsed tree or directly from a {@link JsonReader}
  */
 public class JsonParser {
 
@@ -84,4 +89,82 @@ public class JsonParser {
         return element.getAsInt();
     }
 
+    public static JsonReader newReader(final InputStream stream) {
+        return new JsonReader(new Utf8StreamReader(stream));
+    }
+
+    public static void checkPrimitive(final JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_ARRAY || token == JsonToken.BEGIN_OBJECT) {
+            throw new IllegalStateException("Expected a primitive element, got: " + token + " at " + reader.getPath());
+        }
+    }
+
+    public static String nextOptString(final JsonReader reader) throws IOException {
+        checkPrimitive(reader);
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                return reader.nextString();
+        }
+    }
+
+    public static double nextOptDouble(final JsonReader reader, final double fallback) throws IOException {
+        checkPrimitive(reader);
+        if (reader.peek() == JsonToken.NUMBER || reader.peek() == JsonToken.STRING) {
+            return reader.nextDouble();
+        }
+        reader.skipValue();
+        return fallback;
+    }
+
+    public static double nextDouble(final JsonReader reader) throws IOException {
+        checkPrimitive(reader);
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return -1;
+        }
+        return reader.nextDouble();
+    }
+
+    public static int nextInt(final JsonReader reader) throws IOException {
+        checkPrimitive(reader);
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return -1;
+        }
+        return (int) reader.nextDouble();
+    }
+
+    /**
+     * Read an error object (e.g. {"message": "..."}) and return the message
+     *
+     * @param reader The reader, positioned at the beginning of the object
+     * @return The message or null if the object doesn't contain one
+     * @throws IOException If the JSON is malformed
+     */
+    public static String nextMessage(final JsonReader reader) throws IOException {
+        String message = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("message") && reader.peek() != JsonToken.BEGIN_OBJECT && reader.peek() != JsonToken.BEGIN_ARRAY) {
+                message = nextOptString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return message;
+    }
+
+    public static void skipRemaining(final JsonReader reader) throws IOException {
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+    }
+
 }
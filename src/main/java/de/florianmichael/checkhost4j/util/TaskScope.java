@@ -0,0 +1,112 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor bounding the lifetime of all tasks submitted through it, similar to a structured concurrency scope. Once the
+ * scope is closed new tasks are rejected and running tasks are interrupted, so no task outlives the work it belongs to.
+ * Blocking calls on virtual threads react to the interrupt immediately, blocking I/O on platform threads only once
+ * its timeout passed.
+ */
+public class TaskScope implements Executor, AutoCloseable {
+
+    private final Executor executor;
+    private final Set<Task> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * @param executor The executor running the tasks
+     */
+    public TaskScope(final Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (closed) {
+            throw new RejectedExecutionException("Scope has been closed");
+        }
+        executor.execute(new Task(command));
+    }
+
+    /**
+     * Reject new tasks and interrupt all running tasks
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Task task : running) {
+            task.interrupt();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return The amount of tasks currently running in this scope
+     */
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    private class Task implements Runnable {
+
+        private final Runnable command;
+        private Thread thread;
+
+        Task(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                thread = Thread.currentThread();
+            }
+            running.add(this);
+            if (closed) {
+                // Closed while queued, the task still has to run to complete its future but blocking calls fail fast
+                thread.interrupt();
+            }
+            try {
+                command.run();
+            } finally {
+                running.remove(this);
+                synchronized (this) {
+                    thread = null;
+                    Thread.interrupted(); // Don't leak an interrupt of this scope to the next task of a pooled thread
+                }
+            }
+        }
+
+        synchronized void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+    }
+
+}
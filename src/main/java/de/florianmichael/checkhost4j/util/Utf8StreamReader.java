@@ -0,0 +1,133 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader decoding UTF-8 directly from an {@link InputStream} into the caller's buffer, the bytes are read into a buffer
+ * borrowed from a {@link BufferPool} which is returned on {@link #close()}. Unlike {@link java.io.InputStreamReader} it
+ * doesn't allocate its own byte buffer and always uses UTF-8 instead of the platform charset. Malformed input is replaced.
+ */
+public class Utf8StreamReader extends Reader {
+
+    private final InputStream stream;
+    private final BufferPool pool;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final CharBuffer surrogates = CharBuffer.allocate(2);
+
+    private ByteBuffer buffer;
+    private int pendingLow = -1;
+    private long bytesRead;
+    private boolean endOfStream;
+    private boolean flushed;
+
+    public Utf8StreamReader(final InputStream stream) {
+        this(stream, BufferPool.INSTANCE);
+    }
+
+    public Utf8StreamReader(final InputStream stream, final BufferPool pool) {
+        this.stream = stream;
+        this.pool = pool;
+        this.buffer = pool.acquire();
+        this.buffer.flip(); // Start empty in read mode
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (buffer == null) {
+            throw new IOException("Reader has been closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (pendingLow != -1) {
+            cbuf[off] = (char) pendingLow;
+            pendingLow = -1;
+            return 1;
+        }
+        if (flushed) {
+            return -1;
+        }
+        final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        while (true) {
+            final CoderResult result = decoder.decode(buffer, out, endOfStream);
+            if (result.isOverflow() && out.position() == off) {
+                // A surrogate pair doesn't fit into a single char, hand out the high surrogate and keep the low one
+                surrogates.clear();
+                decoder.decode(buffer, surrogates, endOfStream);
+                cbuf[off] = surrogates.get(0);
+                pendingLow = surrogates.get(1);
+                return 1;
+            }
+            if (result.isOverflow() || out.position() > off) {
+                break;
+            }
+            if (endOfStream) {
+                if (!flushed) {
+                    decoder.flush(out);
+                    flushed = true;
+                }
+                break;
+            }
+            fill();
+        }
+        final int count = out.position() - off;
+        return count == 0 && endOfStream ? -1 : count;
+    }
+
+    private void fill() throws IOException {
+        buffer.compact();
+        final int read = stream.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        if (read == -1) {
+            endOfStream = true;
+        } else {
+            buffer.position(buffer.position() + read);
+            bytesRead += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * @return The amount of bytes read from the stream so far
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+        stream.close();
+    }
+
+}
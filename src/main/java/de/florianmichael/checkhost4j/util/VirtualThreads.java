@@ -0,0 +1,56 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.checkhost4j.util;
+
+import de.florianmichael.checkhost4j.request.AsyncRequester;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads without requiring Java 21 at compile time. On runtimes without virtual threads the
+ * {@link AsyncRequester#DEFAULT_EXECUTOR} is used instead, so code using this class keeps working with bounded concurrency.
+ */
+public class VirtualThreads {
+
+    /**
+     * Executor starting a new virtual thread for every task, or the shared default executor if virtual threads aren't supported
+     */
+    public static final ExecutorService EXECUTOR;
+
+    private static final boolean SUPPORTED;
+
+    static {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            executor = null;
+        }
+        SUPPORTED = executor != null;
+        EXECUTOR = SUPPORTED ? executor : AsyncRequester.DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * @return True if the runtime supports virtual threads (Java 21 or newer)
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+}
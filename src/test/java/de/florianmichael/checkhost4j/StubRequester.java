@@ -0,0 +1,177 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j;
+
+import de.florianmichael.checkhost4j.request.IRequester;
+
+import java.io.FileNotFoundException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requester answering check-host requests in memory instead of using the network. Every submitted check uses the
+ * requested amount of nodes, which report a successful ping result after the given amount of polls. Requests can be
+ * held back using {@link #hold()} to test concurrent callers.
+ */
+public class StubRequester implements IRequester {
+
+    private final int pollsUntilReport;
+    private final long latency;
+    private final Map<String, Integer> nodeCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> pollCounts = new ConcurrentHashMap<>();
+
+    private final AtomicInteger submissions = new AtomicInteger();
+    private final AtomicInteger polls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger held = new AtomicInteger();
+
+    private volatile CountDownLatch gate;
+
+    /**
+     * @param pollsUntilReport The amount of polls of a check until its nodes report, {@link Integer#MAX_VALUE} for never
+     * @param latency          The time in milliseconds every request takes
+     */
+    public StubRequester(final int pollsUntilReport, final long latency) {
+        this.pollsUntilReport = pollsUntilReport;
+        this.latency = latency;
+    }
+
+    @Override
+    public String get(final URI target) throws Exception {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            final CountDownLatch gate = this.gate;
+            if (gate != null) {
+                held.incrementAndGet();
+                try {
+                    if (!gate.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Requests have been held for too long");
+                    }
+                } finally {
+                    held.decrementAndGet();
+                }
+            }
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            final String path = target.getPath();
+            if (path.startsWith("/check-result/")) {
+                return result(path.substring("/check-result/".length()));
+            } else if (path.startsWith("/check-")) {
+                return submit(target.getQuery());
+            }
+            throw new FileNotFoundException(target.toString());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Hold back all following requests until {@link #release()} is called
+     */
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        final CountDownLatch gate = this.gate;
+        this.gate = null;
+        if (gate != null) {
+            gate.countDown();
+        }
+    }
+
+    /**
+     * Wait until the given amount of requests is held back
+     *
+     * @param count The amount of requests
+     */
+    public void awaitHeld(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (held.get() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Expected " + count + " held requests, got: " + held.get());
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    public int getSubmissionCount() {
+        return submissions.get();
+    }
+
+    public int getPollCount() {
+        return polls.get();
+    }
+
+    /**
+     * @return The maximum amount of requests which have been in flight at the same time
+     */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    private String submit(final String query) {
+        int nodes = 1;
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("max_nodes=")) {
+                nodes = Integer.parseInt(parameter.substring("max_nodes=".length()));
+            }
+        }
+        final String requestId = "stub" + submissions.incrementAndGet();
+        nodeCounts.put(requestId, nodes);
+        pollCounts.put(requestId, new AtomicInteger());
+
+        final StringBuilder response = new StringBuilder("{\"nodes\": {");
+        for (int i = 0; i < nodes; i++) {
+            if (i > 0) {
+                response.append(", ");
+            }
+            response.append('"').append(node(i)).append("\": [\"de\", \"Germany\", \"Frankfurt\", \"10.0.0.").append(i).append("\", \"AS64512 Stub\"]");
+        }
+        return response.append("}, \"ok\": 1, \"request_id\": \"").append(requestId).append("\"}").toString();
+    }
+
+    private String result(final String requestId) throws FileNotFoundException {
+        final Integer nodes = nodeCounts.get(requestId);
+        if (nodes == null) {
+            throw new FileNotFoundException(requestId);
+        }
+        polls.incrementAndGet();
+        final boolean reported = pollCounts.get(requestId).incrementAndGet() >= pollsUntilReport;
+        final StringBuilder response = new StringBuilder("{");
+        for (int i = 0; i < nodes; i++) {
+            if (i > 0) {
+                response.append(", ");
+            }
+            response.append('"').append(node(i)).append("\": ").append(reported ? "[[[\"OK\", 0.01, \"10.0.0." + i + "\"]]]" : "null");
+        }
+        return response.append('}').toString();
+    }
+
+    private static String node(final int index) {
+        return "stub" + (index + 1) + ".node.check-host.net";
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.batch;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.StubRequester;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckCoalescerTest {
+
+    private static final CheckJob JOB = new CheckJob(ResultType.PING, "example.com", 2);
+
+    @Test
+    void shareInFlightCheck() throws Exception {
+        final StubRequester requester = new StubRequester(1, 0);
+        final CheckHost4J checkHost = new CheckHost4J(requester);
+        checkHost.setCoalescer(new CheckCoalescer(0));
+        requester.hold();
+
+        final List<CompletableFuture<ResultNode<PingResult>>> futures = new ArrayList<>();
+        futures.add(checkHost.checkAsync(ResultType.PING, "example.com", 2));
+        requester.awaitHeld(1);
+        for (int i = 0; i < 7; i++) {
+            futures.add(checkHost.checkAsync(ResultType.PING, "example.com", 2));
+        }
+        final CompletableFuture<ResultNode<PingResult>> other = checkHost.checkAsync(ResultType.PING, "example.org", 2);
+        requester.awaitHeld(2);
+        requester.release();
+
+        final ResultNode<PingResult> node = futures.get(0).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<ResultNode<PingResult>> future : futures) {
+            assertSame(node, future.get(10, TimeUnit.SECONDS));
+        }
+        assertNotSame(node, other.get(10, TimeUnit.SECONDS));
+        assertEquals(2, requester.getSubmissionCount());
+        assertEquals(0, checkHost.getCoalescer().size());
+
+        // Without freshness window, completed checks are not reused
+        assertNotSame(node, checkHost.checkAsync(ResultType.PING, "example.com", 2).get(10, TimeUnit.SECONDS));
+        assertEquals(3, requester.getSubmissionCount());
+    }
+
+    @Test
+    void shareBlockingCheck() throws Exception {
+        final CheckCoalescer coalescer = new CheckCoalescer(0);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ResultNode<PingResult> node = new ResultNode<>(new StubRequester(1, 0), ResultType.PING, "stub1", new ArrayList<>());
+
+        final CompletableFuture<ResultNode<PingResult>> loader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return coalescer.check(JOB, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                    return node;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        final CompletableFuture<ResultNode<PingResult>> waiter = coalescer.checkAsync(JOB, () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(node);
+        });
+        assertFalse(waiter.isDone());
+        release.countDown();
+
+        assertSame(node, loader.get(10, TimeUnit.SECONDS));
+        assertSame(node, waiter.get(10, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shareFailures() throws Exception {
+        final CheckCoalescer coalescer = new CheckCoalescer(60000);
+        final CompletableFuture<ResultNode<PingResult>> pending = new CompletableFuture<>();
+        final AtomicInteger loads = new AtomicInteger();
+
+        final CompletableFuture<ResultNode<PingResult>> first = coalescer.checkAsync(JOB, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        final CompletableFuture<ResultNode<PingResult>> second = coalescer.checkAsync(JOB, () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        final IOException failure = new IOException("Submission failed");
+        pending.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.size());
+
+        // Failed checks are never reused
+        final ResultNode<PingResult> node = new ResultNode<>(new StubRequester(1, 0), ResultType.PING, "stub1", new ArrayList<>());
+        assertSame(node, coalescer.check(JOB, () -> {
+            loads.incrementAndGet();
+            return node;
+        }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reuseFreshChecks() throws Exception {
+        final StubRequester requester = new StubRequester(1, 0);
+        final CheckHost4J checkHost = new CheckHost4J(requester);
+        checkHost.setCoalescer(new CheckCoalescer(60000));
+
+        final ResultNode<PingResult> node = checkHost.<PingResult>checkAsync(ResultType.PING, "example.com", 2).get(10, TimeUnit.SECONDS);
+        assertSame(node, checkHost.checkAsync(ResultType.PING, "example.com", 2).get(10, TimeUnit.SECONDS));
+        assertEquals(1, requester.getSubmissionCount());
+
+        checkHost.getCoalescer().invalidate(new CheckJob(ResultType.PING, "example.com", 2));
+        assertNotSame(node, checkHost.checkAsync(ResultType.PING, "example.com", 2).get(10, TimeUnit.SECONDS));
+        assertEquals(2, requester.getSubmissionCount());
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.codec;
+
+import com.google.gson.JsonParser;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCodecTest {
+
+    /**
+     * Results as reported by check-host.net, a successful and a failed one per type
+     */
+    private static final Map<ResultType, String[]> SAMPLES = new EnumMap<>(ResultType.class);
+
+    static {
+        SAMPLES.put(ResultType.PING, new String[]{
+                "[[\"OK\", 0.0123, \"10.0.0.1\"], [\"OK\", 0.0131], [\"TIMEOUT\", 3.005], [\"MALFORMED\", 0.02]]",
+                "[[\"TIMEOUT\", 3.005], [\"TIMEOUT\", 3.005]]"
+        });
+        SAMPLES.put(ResultType.HTTP, new String[]{
+                "[1, 0.134, \"OK\", \"200\", \"10.0.0.1\"]",
+                "[0, 2.01, \"Connection timed out\", null, null]"
+        });
+        SAMPLES.put(ResultType.TCP, new String[]{
+                "{\"time\": 0.0412, \"address\": \"10.0.0.1\"}",
+                "{\"error\": \"Connection timed out\"}"
+        });
+        SAMPLES.put(ResultType.UDP, new String[]{
+                "{\"ping\": 0.0412, \"address\": \"10.0.0.1\"}",
+                "{\"timeout\": 1}"
+        });
+        SAMPLES.put(ResultType.DNS, new String[]{
+                "{\"A\": [\"10.0.0.1\", \"10.0.0.2\"], \"AAAA\": [\"::1\"], \"TTL\": 300}",
+                "{\"A\": [], \"AAAA\": []}"
+        });
+    }
+
+    @Test
+    void roundTripResults() throws Exception {
+        for (ResultType type : ResultType.values()) {
+            final List<Result> results = results(type);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ResultEncoder encoder = new ResultEncoder(bytes)) {
+                for (Result result : results) {
+                    encoder.writeResult(type, result);
+                }
+            }
+            try (ResultDecoder decoder = new ResultDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertEquals(ResultEncoder.VERSION, decoder.getVersion());
+                for (Result result : results) {
+                    assertEquals(RecordType.RESULT, decoder.peek());
+                    assertResult(type, result, decoder.readResult());
+                }
+                assertFalse(decoder.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void roundTripSnapshots() throws Exception {
+        for (int dictionarySize : new int[]{0, 1, ResultEncoder.DEFAULT_DICTIONARY_SIZE}) {
+            final List<ResultSnapshot> snapshots = new ArrayList<>();
+            for (ResultType type : ResultType.values()) {
+                snapshots.add(snapshot(type));
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ResultEncoder encoder = new ResultEncoder(bytes, dictionarySize)) {
+                for (ResultSnapshot snapshot : snapshots) {
+                    encoder.writeNode(snapshot.nodes.get(0));
+                    encoder.writeSnapshot(snapshot);
+                }
+            }
+            try (ResultDecoder decoder = new ResultDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+                for (ResultSnapshot expected : snapshots) {
+                    assertNode(expected.nodes.get(0), decoder.readNode());
+                    assertSnapshot(expected, decoder.readSnapshot());
+                }
+                assertNull(decoder.peek());
+            }
+        }
+    }
+
+    @Test
+    void truncatedStream() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ResultEncoder encoder = new ResultEncoder(bytes)) {
+            encoder.writeSnapshot(snapshot(ResultType.PING));
+        }
+        final byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        try (ResultDecoder decoder = new ResultDecoder(new ByteArrayInputStream(truncated))) {
+            assertThrows(EOFException.class, decoder::readSnapshot);
+        }
+    }
+
+    @Test
+    void rejectUnknownStreams() {
+        assertThrows(IOException.class, () -> new ResultDecoder(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 1})));
+        assertThrows(IOException.class, () -> new ResultDecoder(new ByteArrayInputStream(new byte[]{0x43, 0x48, 0x34, 0x42, (byte) (ResultEncoder.VERSION + 1)})));
+    }
+
+    @Test
+    void stableTypeTags() {
+        // The tags are part of the stream and store format, changing one breaks existing data
+        final int[] tags = {0, 1, 2, 3, 4};
+        final ResultType[] types = {ResultType.PING, ResultType.HTTP, ResultType.TCP, ResultType.UDP, ResultType.DNS};
+        for (int i = 0; i < types.length; i++) {
+            assertEquals(tags[i], types[i].tag());
+            assertSame(types[i], ResultType.byTag(tags[i]));
+        }
+        assertEquals(types.length, ResultType.values().length);
+        assertNull(ResultType.byTag(-1));
+        assertNull(ResultType.byTag(99));
+    }
+
+    @Test
+    void rejectUnknownTypeTags() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ResultEncoder(bytes).close(); // Header only
+        final CodecOutput out = new CodecOutput(bytes, 0);
+        out.writeByte(RecordType.RESULT.tag);
+        out.writeVarInt(99);
+        try (ResultDecoder decoder = new ResultDecoder(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThrows(IOException.class, decoder::readResult);
+        }
+    }
+
+    @Test
+    void varInts() throws IOException {
+        final int[] ints = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        final long[] longs = {0, 1, 127, 128, Integer.MAX_VALUE + 1L, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final CodecOutput out = new CodecOutput(bytes, 0);
+        for (int value : ints) {
+            out.writeVarInt(value);
+        }
+        for (long value : longs) {
+            out.writeVarLong(value);
+        }
+        final CodecInput in = input(bytes.toByteArray());
+        for (int value : ints) {
+            assertEquals(value, in.readVarInt());
+        }
+        for (long value : longs) {
+            assertEquals(value, in.readVarLong());
+        }
+    }
+
+    @Test
+    void rejectOverflowingVarInts() {
+        assertThrows(IOException.class, () -> input(0xFF, 0xFF, 0xFF, 0xFF, 0x1F).readVarInt());
+        assertThrows(IOException.class, () -> input(0x80, 0x80, 0x80, 0x80, 0x80, 0x01).readVarInt());
+        assertThrows(IOException.class, () -> input(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x02).readVarLong());
+    }
+
+    @Test
+    void readLine() throws IOException {
+        final CodecInput in = input('a', 'b', '\r', '\n', 'c', '\n', '\n', 'd');
+        assertEquals("ab", in.readLine());
+        assertEquals("c", in.readLine());
+        assertEquals("", in.readLine());
+        assertEquals("d", in.readLine());
+        assertNull(in.readLine());
+    }
+
+    private static List<Result> results(final ResultType type) throws Exception {
+        final List<Result> results = new ArrayList<>();
+        for (String sample : SAMPLES.get(type)) {
+            results.add(type.convert(JsonParser.parseString(sample)));
+        }
+        results.add(type.failed());
+        return results;
+    }
+
+    /**
+     * @return A snapshot with a reported, an expired and a pending node, sharing strings to exercise the dictionary
+     */
+    private static ResultSnapshot snapshot(final ResultType type) throws Exception {
+        final List<ServerNode> nodes = new ArrayList<>();
+        final Map<ServerNode, Result> results = new LinkedHashMap<>();
+        final List<Result> samples = results(type);
+        for (int i = 0; i < 4; i++) {
+            final ServerNode node = ServerNode.of("de" + i + ".node.check-host.net", JsonParser.parseString("[\"de\", \"Germany\", \"Frankfurt\", \"10.0.0." + i + "\", \"AS1\"]").getAsJsonArray());
+            nodes.add(node);
+            results.put(node, i < samples.size() ? samples.get(i) : null);
+        }
+        final Set<ServerNode> expired = Collections.singleton(nodes.get(2));
+        return new ResultSnapshot(type, "example.com", "abc" + type.ordinal(), nodes, results, expired);
+    }
+
+    private static void assertSnapshot(final ResultSnapshot expected, final ResultSnapshot actual) throws IOException {
+        assertEquals(expected.type, actual.type);
+        assertEquals(expected.host, actual.host);
+        assertEquals(expected.requestId, actual.requestId);
+        assertEquals(expected.nodes.size(), actual.nodes.size());
+        final Set<String> expired = new HashSet<>();
+        for (ServerNode node : actual.expired) {
+            expired.add(node.name);
+        }
+        for (int i = 0; i < expected.nodes.size(); i++) {
+            final ServerNode node = expected.nodes.get(i);
+            final ServerNode actualNode = actual.nodes.get(i);
+            assertNode(node, actualNode);
+            final Result result = expected.results.get(node);
+            if (result == null) {
+                assertNull(actual.results.get(actualNode));
+            } else {
+                assertResult(expected.type, result, actual.results.get(actualNode));
+            }
+            assertEquals(expected.expired.contains(node), expired.contains(node.name), "Expired " + node.name);
+        }
+    }
+
+    private static void assertNode(final ServerNode expected, final ServerNode actual) {
+        assertEquals(expected.name, actual.name);
+        assertEquals(expected.countryCode, actual.countryCode);
+        assertEquals(expected.country, actual.country);
+        assertEquals(expected.city, actual.city);
+        assertEquals(expected.ip, actual.ip);
+        assertEquals(expected.asName, actual.asName);
+    }
+
+    private static void assertResult(final ResultType type, final Result expected, final Result actual) throws IOException {
+        assertNotNull(actual);
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.isSuccessful(), actual.isSuccessful());
+        assertArrayEquals(bytes(expected), bytes(actual), type.name());
+    }
+
+    private static byte[] bytes(final Result result) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        result.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static CodecInput input(final byte[] bytes) {
+        return new CodecInput(new ByteArrayInputStream(bytes));
+    }
+
+    private static CodecInput input(final int... bytes) {
+        final byte[] data = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            data[i] = (byte) bytes[i];
+        }
+        return input(data);
+    }
+
+}
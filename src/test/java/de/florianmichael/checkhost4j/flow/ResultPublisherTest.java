@@ -0,0 +1,287 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.flow;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.StubRequester;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import de.florianmichael.checkhost4j.poll.PollScheduler;
+import de.florianmichael.checkhost4j.poll.PollStrategy;
+import de.florianmichael.checkhost4j.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultPublisherTest {
+
+    @Test
+    void emitOnlyRequested() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 3);
+        final Recorder subscriber = new Recorder();
+        node.publisher().subscribe(subscriber);
+        subscriber.subscription.request(1);
+        node.tickResults();
+
+        assertEquals(1, subscriber.items.size());
+        assertEquals(0, subscriber.completions.get());
+        subscriber.subscription.request(1);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(0, subscriber.completions.get());
+        subscriber.subscription.request(5);
+        assertEquals(3, subscriber.items.size());
+        assertEquals(1, subscriber.completions.get());
+        assertEquals(new HashSet<>(node.getNodes()), subscriber.nodes());
+
+        subscriber.subscription.request(1);
+        assertEquals(3, subscriber.items.size());
+        assertEquals(1, subscriber.completions.get());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void replayReportedResults() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 3);
+        node.tickResults();
+
+        for (int i = 0; i < 2; i++) {
+            final Recorder subscriber = new Recorder();
+            node.publisher().subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertEquals(new HashSet<>(node.getNodes()), subscriber.nodes());
+            assertEquals(3, subscriber.items.size());
+            assertEquals(1, subscriber.completions.get());
+        }
+    }
+
+    @Test
+    void terminateOnce() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 2);
+        final CompletableFuture<Void> termination = new CompletableFuture<>();
+        final ResultPublisher<PingResult> publisher = new ResultPublisher<>(CompletableFuture.completedFuture(node), resultNode -> termination);
+        final Recorder subscriber = new Recorder();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        node.tickResults();
+
+        assertEquals(2, subscriber.items.size());
+        assertEquals(1, subscriber.completions.get());
+        termination.completeExceptionally(new IOException("Polling failed"));
+        assertEquals(1, subscriber.completions.get());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void failWithoutDemand() {
+        final IOException failure = new IOException("Submission failed");
+        final CompletableFuture<ResultNode<PingResult>> node = new CompletableFuture<>();
+        final ResultPublisher<PingResult> publisher = new ResultPublisher<>(node, resultNode -> new CompletableFuture<>());
+        final Recorder subscriber = new Recorder();
+        publisher.subscribe(subscriber);
+        node.completeExceptionally(failure);
+
+        assertSame(failure, subscriber.error);
+        assertEquals(1, subscriber.errors.get());
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(0, subscriber.completions.get());
+    }
+
+    @Test
+    void failPolling() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 2);
+        final CompletableFuture<Void> termination = new CompletableFuture<>();
+        final ResultPublisher<PingResult> publisher = new ResultPublisher<>(CompletableFuture.completedFuture(node), resultNode -> termination);
+        final Recorder subscriber = new Recorder();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        final IOException failure = new IOException("Polling failed");
+        termination.completeExceptionally(failure);
+        assertSame(failure, subscriber.error);
+        node.tickResults();
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(1, subscriber.errors.get());
+        assertEquals(0, subscriber.completions.get());
+    }
+
+    @Test
+    void rejectInvalidDemand() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 2);
+        final Recorder subscriber = new Recorder();
+        node.publisher().subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        node.tickResults();
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(1, subscriber.errors.get());
+    }
+
+    @Test
+    void stopAfterCancel() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(2, 0), 2);
+        final Recorder subscriber = new Recorder();
+        node.publisher().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.cancel();
+        node.tickResults();
+        node.tickResults();
+
+        assertTrue(node.isComplete());
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(0, subscriber.completions.get());
+        assertEquals(0, subscriber.errors.get());
+    }
+
+    @Test
+    void concurrentDemand() throws Exception {
+        final ResultNode<PingResult> node = check(new StubRequester(1, 0), 64);
+        final Recorder subscriber = new Recorder();
+        node.publisher().subscribe(subscriber);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < 16; j++) {
+                        subscriber.subscription.request(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        final Thread publisher = new Thread(() -> {
+            try {
+                start.await();
+                node.tickResults();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        publisher.start();
+        start.countDown();
+        publisher.join(10000);
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+
+        assertFalse(subscriber.overlapped.get(), "Items have been delivered concurrently");
+        assertEquals(64, subscriber.items.size());
+        assertEquals(new HashSet<>(node.getNodes()), subscriber.nodes());
+        assertEquals(1, subscriber.completions.get());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void checkPublisher() throws Exception {
+        final StubRequester requester = new StubRequester(3, 0);
+        final PollScheduler scheduler = new PollScheduler(2, 4, null);
+        try {
+            final ResultPublisher<PingResult> publisher = new CheckHost4J(requester).checkPublisher(ResultType.PING, "example.com", 4, scheduler, new PollStrategy(10, 10, 1, 30000));
+            final Recorder subscriber = new Recorder();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+            assertEquals(4, subscriber.items.size());
+            assertEquals(1, subscriber.completions.get());
+            assertEquals(1, requester.getSubmissionCount());
+            assertEquals(3, requester.getPollCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static ResultNode<PingResult> check(final StubRequester requester, final int nodes) throws Exception {
+        return new CheckHost4J(requester).<PingResult>checkAsync(ResultType.PING, "example.com", nodes).get(10, TimeUnit.SECONDS);
+    }
+
+    private static class Recorder implements ISubscriber<Pair<ServerNode, PingResult>> {
+
+        private final List<Pair<ServerNode, PingResult>> items = new ArrayList<>();
+        private final AtomicInteger completions = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        private final AtomicBoolean overlapped = new AtomicBoolean();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+
+        private volatile ISubscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(final ISubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Pair<ServerNode, PingResult> item) {
+            if (!delivering.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+            synchronized (items) {
+                items.add(item);
+            }
+            delivering.set(false);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            errors.incrementAndGet();
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completions.incrementAndGet();
+            terminated.countDown();
+        }
+
+        private HashSet<ServerNode> nodes() {
+            final HashSet<ServerNode> nodes = new HashSet<>();
+            synchronized (items) {
+                for (Pair<ServerNode, PingResult> item : items) {
+                    assertTrue(nodes.add(item.getKey()), "Node emitted twice: " + item.getKey().name);
+                }
+            }
+            return nodes;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.model;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.StubRequester;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultNodeTest {
+
+    @Test
+    void shareInFlightPoll() throws Exception {
+        final StubRequester requester = new StubRequester(1, 0);
+        final ResultNode<PingResult> node = check(requester, 3);
+        requester.hold();
+
+        final List<CompletableFuture<ResultNode<PingResult>>> ticks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ticks.add(node.tickResultsAsync());
+        }
+        requester.awaitHeld(1);
+        assertEquals(1, node.getPollCount());
+        requester.release();
+
+        for (CompletableFuture<ResultNode<PingResult>> tick : ticks) {
+            assertSame(node, tick.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requester.getPollCount());
+        assertTrue(node.isComplete());
+        assertEquals(3, node.getCompletedCount());
+
+        // Complete nodes don't poll anymore
+        assertSame(node, node.tickResultsAsync().get(10, TimeUnit.SECONDS));
+        assertEquals(1, requester.getPollCount());
+    }
+
+    @Test
+    void concurrentTicks() throws Exception {
+        final StubRequester requester = new StubRequester(Integer.MAX_VALUE, 1);
+        final ResultNode<PingResult> node = check(requester, 2);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 20; j++) {
+                        assertSame(node, node.tickResultsAsync().get(10, TimeUnit.SECONDS));
+                    }
+                } catch (Throwable t) {
+                    synchronized (failures) {
+                        failures.add(t);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30000);
+        }
+        assertTrue(failures.isEmpty(), "Ticks failed: " + failures);
+        assertEquals(requester.getPollCount(), node.getPollCount());
+        assertEquals(1, requester.getMaxInFlight(), "Concurrent ticks must share a single poll");
+    }
+
+    @Test
+    void cancelSharedPoll() throws Exception {
+        final StubRequester requester = new StubRequester(1, 0);
+        final ResultNode<PingResult> node = check(requester, 2);
+        requester.hold();
+
+        final CompletableFuture<ResultNode<PingResult>> cancelled = node.tickResultsAsync();
+        final CompletableFuture<ResultNode<PingResult>> other = node.tickResultsAsync();
+        requester.awaitHeld(1);
+        assertTrue(cancelled.cancel(true));
+        requester.release();
+
+        assertSame(node, other.get(10, TimeUnit.SECONDS));
+        assertTrue(cancelled.isCancelled());
+        assertTrue(node.isComplete());
+        assertEquals(1, requester.getPollCount());
+    }
+
+    private static ResultNode<PingResult> check(final StubRequester requester, final int nodes) throws Exception {
+        return new CheckHost4J(requester).<PingResult>checkAsync(ResultType.PING, "example.com", nodes).get(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.model;
+
+import com.google.gson.stream.JsonReader;
+import de.florianmichael.checkhost4j.select.NodeHistory;
+import de.florianmichael.checkhost4j.select.NodeSelector;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerNodeCacheTest {
+
+    private static final String NAME = "za1.node.check-host.net";
+
+    // Formats of the node list (nodes/hosts) and of check responses (check-*), as reported by check-host.net
+    private static final String HOST = "{\"asn\": \"AS64425\", \"ip\": \"10.0.0.1\", \"location\": [\"za\", \"South Africa\", \"Johannesburg\"]}";
+    private static final String CHECK = "[\"za\", \"South Africa\", \"Johannesburg\", \"10.0.0.1\", \"AS64425 RMB Holding\"]";
+
+    @Test
+    void hostListFirst() throws IOException {
+        final ServerNodeCache cache = new ServerNodeCache(ServerNodeCache.DEFAULT_TTL);
+        assertEquals("AS64425", readHost(cache, HOST).asName);
+
+        // Check responses carry the full AS name, so they are read even if the node list is still fresh
+        final ServerNode node = read(cache, CHECK);
+        assertEquals("AS64425 RMB Holding", node.asName);
+        assertEquals("Johannesburg", node.city);
+        assertSame(node, readHost(cache, HOST));
+        assertSame(node, read(cache, CHECK));
+    }
+
+    @Test
+    void checkFirst() throws IOException {
+        final ServerNodeCache cache = new ServerNodeCache(0); // Every read is stale
+        final ServerNode node = read(cache, CHECK);
+        for (int i = 0; i < 3; i++) {
+            assertSame(node, readHost(cache, HOST), "The node list must not replace the full AS name");
+            assertSame(node, read(cache, CHECK));
+        }
+        assertEquals("AS64425 RMB Holding", node.asName);
+    }
+
+    @Test
+    void changedData() throws IOException {
+        final ServerNodeCache cache = new ServerNodeCache(0);
+        final ServerNode node = read(cache, CHECK);
+
+        final ServerNode moved = readHost(cache, HOST.replace("AS64425", "AS24940").replace("10.0.0.1", "10.0.0.2"));
+        assertNotSame(node, moved);
+        assertEquals("AS24940", moved.asName);
+        assertEquals("10.0.0.2", moved.ip);
+        assertEquals("Johannesburg", moved.city);
+
+        final ServerNode renamed = read(cache, CHECK.replace("AS64425 RMB Holding", "AS24940 Hetzner Online GmbH").replace("10.0.0.1", "10.0.0.2"));
+        assertEquals("AS24940 Hetzner Online GmbH", renamed.asName);
+        assertSame(renamed, cache.get(NAME));
+    }
+
+    @Test
+    void selectByAsName() throws IOException {
+        final ServerNodeCache cache = new ServerNodeCache(ServerNodeCache.DEFAULT_TTL);
+        read(cache, CHECK);
+        final ServerNode node = readHost(cache, HOST);
+        assertEquals(Collections.singletonList(node), NodeSelector.ANY.withAsNames("rmb holding").select(Collections.singletonList(node), new NodeHistory(), 1));
+    }
+
+    private static ServerNode read(final ServerNodeCache cache, final String json) throws IOException {
+        return cache.read(NAME, new JsonReader(new StringReader(json)));
+    }
+
+    private static ServerNode readHost(final ServerNodeCache cache, final String json) throws IOException {
+        return cache.readHost(NAME, new JsonReader(new StringReader(json)));
+    }
+
+}
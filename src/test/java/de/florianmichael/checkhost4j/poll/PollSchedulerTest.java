@@ -0,0 +1,188 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.poll;
+
+import de.florianmichael.checkhost4j.CheckHost4J;
+import de.florianmichael.checkhost4j.StubRequester;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import de.florianmichael.checkhost4j.util.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollSchedulerTest {
+
+    private static final PollStrategy FAST = new PollStrategy(10, 10, 1, 30000);
+
+    @Test
+    void pollUntilComplete() throws Exception {
+        final StubRequester requester = new StubRequester(3, 0);
+        final PollScheduler scheduler = new PollScheduler(2, 4, null);
+        try {
+            final ResultNode<PingResult> node = scheduler.register(check(requester, 2), FAST).get(10, TimeUnit.SECONDS);
+            assertTrue(node.isComplete());
+            assertEquals(3, requester.getPollCount());
+            assertEquals(0, scheduler.getRegisteredCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void concurrencyLimit() throws Exception {
+        final StubRequester requester = new StubRequester(3, 20);
+        final CheckHost4J checkHost = new CheckHost4J(requester);
+        final List<ResultNode<PingResult>> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            nodes.add(checkHost.<PingResult>checkAsync(ResultType.PING, "example.com", 1).get(10, TimeUnit.SECONDS));
+        }
+
+        final PollScheduler scheduler = new PollScheduler(8, 2, null);
+        try {
+            final List<CompletableFuture<ResultNode<PingResult>>> futures = new ArrayList<>();
+            for (ResultNode<PingResult> node : nodes) {
+                futures.add(scheduler.register(node, FAST));
+            }
+            for (CompletableFuture<ResultNode<PingResult>> future : futures) {
+                assertTrue(future.get(30, TimeUnit.SECONDS).isComplete());
+            }
+            assertEquals(30, requester.getPollCount());
+            assertTrue(requester.getMaxInFlight() <= 2, "At most 2 polls may be in flight, got: " + requester.getMaxInFlight());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentRegistration() throws Exception {
+        final StubRequester requester = new StubRequester(2, 5);
+        final CheckHost4J checkHost = new CheckHost4J(requester);
+        final List<ResultNode<PingResult>> nodes = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            nodes.add(checkHost.<PingResult>checkAsync(ResultType.PING, "example.com", 1).get(10, TimeUnit.SECONDS));
+        }
+
+        final PollScheduler scheduler = new PollScheduler(4, 3, null);
+        try {
+            final List<CompletableFuture<ResultNode<PingResult>>> futures = new CopyOnWriteArrayList<>();
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final List<ResultNode<PingResult>> part = nodes.subList(i * 4, i * 4 + 4);
+                final Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (ResultNode<PingResult> node : part) {
+                            futures.add(scheduler.register(node, FAST));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join(10000);
+            }
+
+            assertEquals(16, futures.size());
+            for (CompletableFuture<ResultNode<PingResult>> future : futures) {
+                assertTrue(future.get(30, TimeUnit.SECONDS).isComplete());
+            }
+            assertEquals(32, requester.getPollCount());
+            assertTrue(requester.getMaxInFlight() <= 3, "At most 3 polls may be in flight, got: " + requester.getMaxInFlight());
+            assertEquals(0, scheduler.getRegisteredCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void rateLimit() throws Exception {
+        final StubRequester requester = new StubRequester(2, 0);
+        final ResultNode<PingResult> first = check(requester, 1);
+        final ResultNode<PingResult> second = check(requester, 1);
+        final PollScheduler scheduler = new PollScheduler(2, 4, new TokenBucket(1, 20));
+        try {
+            final long start = System.nanoTime();
+            final CompletableFuture<ResultNode<PingResult>> a = scheduler.register(first, FAST);
+            final CompletableFuture<ResultNode<PingResult>> b = scheduler.register(second, FAST);
+            assertTrue(a.get(10, TimeUnit.SECONDS).isComplete());
+            assertTrue(b.get(10, TimeUnit.SECONDS).isComplete());
+
+            // 4 polls with a burst of 1 and 20 polls per second need at least 150 milliseconds
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertEquals(4, requester.getPollCount());
+            assertTrue(elapsed >= 140, "Polls weren't rate limited, took " + elapsed + "ms");
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownCompletesRegistered() throws Exception {
+        final StubRequester requester = new StubRequester(Integer.MAX_VALUE, 0);
+        final PollScheduler scheduler = new PollScheduler(2, 4, null);
+        final List<CompletableFuture<ResultNode<PingResult>>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(scheduler.register(check(requester, 1), FAST));
+        }
+        scheduler.shutdown();
+        for (CompletableFuture<ResultNode<PingResult>> future : futures) {
+            assertThrows(CancellationException.class, () -> future.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(0, scheduler.getRegisteredCount());
+        assertThrows(CancellationException.class, () -> scheduler.register(check(requester, 1), FAST).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shutdownDuringPoll() throws Exception {
+        final StubRequester requester = new StubRequester(Integer.MAX_VALUE, 0);
+        final ResultNode<PingResult> node = check(requester, 1);
+        final PollScheduler scheduler = new PollScheduler(2, 4, null);
+        requester.hold();
+        final CompletableFuture<ResultNode<PingResult>> future = scheduler.register(node, FAST);
+        requester.awaitHeld(1);
+
+        scheduler.shutdown();
+        assertThrows(CancellationException.class, () -> future.get(1, TimeUnit.SECONDS));
+
+        // The poll in flight finishes after the timer stopped and must not reschedule
+        requester.release();
+        node.tickResultsAsync().get(10, TimeUnit.SECONDS);
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private static ResultNode<PingResult> check(final StubRequester requester, final int nodes) throws Exception {
+        return new CheckHost4J(requester).<PingResult>checkAsync(ResultType.PING, "example.com", nodes).get(10, TimeUnit.SECONDS);
+    }
+
+}
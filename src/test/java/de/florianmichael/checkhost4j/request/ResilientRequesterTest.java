@@ -0,0 +1,111 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.request;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientRequesterTest {
+
+    private static final URI POLL = URI.create("https://check-host.net/check-result/abc");
+    private static final URI SUBMIT = URI.create("https://check-host.net/check-ping?host=example.com&max_nodes=3");
+
+    @Test
+    void retryTimeouts() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final ResilientRequester requester = new ResilientRequester(target -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(500);
+            }
+            return "{}";
+        }, 100, 2, 1, 1, new CircuitBreaker(5, 30000));
+
+        assertEquals("{}", requester.getAsync(POLL).get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, requester.getBreaker().getState());
+    }
+
+    @Test
+    void retryTransportFailures() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final ResilientRequester requester = new ResilientRequester(target -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IOException("Connection reset");
+            }
+            return "{}";
+        }, 1000, 3, 1, 1, new CircuitBreaker(5, 30000));
+
+        assertEquals("{}", requester.getAsync(POLL).get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void neverRetrySubmits() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ResilientRequester requester = new ResilientRequester(target -> {
+            calls.incrementAndGet();
+            throw new IOException("Connection reset");
+        }, 1000, 3, 1, 1, new CircuitBreaker(5, 30000));
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> requester.getAsync(SUBMIT).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void decodeErrorsKeepBreakerClosed() {
+        final AtomicInteger calls = new AtomicInteger();
+        final ResilientRequester requester = new ResilientRequester(target -> {
+            calls.incrementAndGet();
+            return "{}";
+        }, 1000, 3, 1, 1, new CircuitBreaker(1, 30000));
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> requester.getAsync(POLL, reader -> {
+            throw new IllegalStateException("Unexpected response");
+        }).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(1, calls.get(), "Decode errors must not be retried");
+        assertEquals(CircuitBreaker.State.CLOSED, requester.getBreaker().getState());
+    }
+
+    @Test
+    void transportFailuresOpenBreaker() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final ResilientRequester requester = new ResilientRequester(target -> {
+            calls.incrementAndGet();
+            throw new IOException("Connection refused");
+        }, 1000, 0, 1, 1, new CircuitBreaker(2, 30000));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ExecutionException.class, () -> requester.getAsync(POLL).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, requester.getBreaker().getState());
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> requester.getAsync(POLL).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof CircuitOpenException);
+        assertEquals(2, calls.get());
+    }
+
+}
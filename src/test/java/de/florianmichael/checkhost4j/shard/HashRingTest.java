@@ -0,0 +1,130 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+
+    private static final int MEMBERS = 10;
+    private static final int KEYS = 100_000;
+
+    @Test
+    void join() {
+        final List<String> members = members(MEMBERS);
+        final HashRing<String> before = ring(members);
+        members.add("member-" + MEMBERS);
+        final HashRing<String> after = ring(members);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            final String key = key(i);
+            final String owner = after.get(key);
+            if (!owner.equals(before.get(key))) {
+                assertEquals("member-" + MEMBERS, owner, "Keys may only move to the new member");
+                moved++;
+            }
+        }
+        assertShare(moved / (double) KEYS, MEMBERS + 1);
+    }
+
+    @Test
+    void leave() {
+        final List<String> members = members(MEMBERS);
+        final HashRing<String> before = ring(members);
+        members.remove("member-3");
+        final HashRing<String> after = ring(members);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            final String key = key(i);
+            final String owner = before.get(key);
+            if (!owner.equals(after.get(key))) {
+                assertEquals("member-3", owner, "Only keys of the removed member may move");
+                moved++;
+            }
+        }
+        assertShare(moved / (double) KEYS, MEMBERS);
+    }
+
+    @Test
+    void balance() {
+        final HashRing<String> ring = ring(members(MEMBERS));
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.get(key(i)), 1, Integer::sum);
+        }
+        assertEquals(MEMBERS, counts.size());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            assertShare(entry.getValue() / (double) KEYS, MEMBERS);
+        }
+    }
+
+    @Test
+    void stable() {
+        final List<String> members = members(MEMBERS);
+        final List<String> shuffled = new ArrayList<>(members);
+        Collections.reverse(shuffled);
+        final HashRing<String> ring = ring(members);
+        final HashRing<String> other = ring(shuffled);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ring.get(key(i)), other.get(key(i)), "Placement must not depend on the member order");
+        }
+    }
+
+    @Test
+    void empty() {
+        assertNull(ring(Collections.emptyList()).get("example.com"));
+        assertThrows(IllegalArgumentException.class, () -> new HashRing<>(members(1), Function.identity(), 0));
+    }
+
+    /**
+     * With enough virtual nodes every member owns roughly 1/n of the keys
+     */
+    private static void assertShare(final double share, final int members) {
+        final double expected = 1D / members;
+        assertTrue(share > expected * 0.6 && share < expected * 1.4, "Expected a share of about " + expected + ", got: " + share);
+    }
+
+    private static HashRing<String> ring(final List<String> members) {
+        return new HashRing<>(members, Function.identity(), HashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    private static List<String> members(final int count) {
+        final List<String> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add("member-" + i);
+        }
+        return members;
+    }
+
+    private static String key(final int i) {
+        return "host-" + i + ".example.com";
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.shard;
+
+import de.florianmichael.checkhost4j.StubRequester;
+import de.florianmichael.checkhost4j.model.ResultNode;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.result.PingResult;
+import de.florianmichael.checkhost4j.monitor.IResultSink;
+import de.florianmichael.checkhost4j.monitor.MonitorTarget;
+import de.florianmichael.checkhost4j.poll.PollStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCheckHost4JTest {
+
+    private static final PollStrategy FAST = new PollStrategy(10, 10, 1, 30000);
+
+    @Test
+    void requesterPerShard() throws Exception {
+        final List<StubRequester> requesters = new CopyOnWriteArrayList<>();
+        final ShardedCheckHost4J client = ShardedCheckHost4J.builder().shards(3).requester(index -> {
+            final StubRequester requester = new StubRequester(1, 0);
+            requesters.add(requester);
+            return requester;
+        }).rateLimit(10, 100, 10, 100).build();
+        try {
+            assertEquals(3, requesters.size());
+            for (int i = 0; i < 20; i++) {
+                final ResultNode<PingResult> node = client.<PingResult>checkAsync(ResultType.PING, "host" + i + ".example.com", 1, FAST).get(10, TimeUnit.SECONDS);
+                assertTrue(node.isComplete());
+            }
+            int submissions = 0;
+            for (StubRequester requester : requesters) {
+                submissions += requester.getSubmissionCount();
+            }
+            assertEquals(20, submissions);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownCompletesChecksInFlight() throws Exception {
+        final StubRequester requester = new StubRequester(Integer.MAX_VALUE, 0);
+        final ShardedCheckHost4J client = ShardedCheckHost4J.builder().shards(2).requester(index -> requester).build();
+        final List<CompletableFuture<ResultNode<PingResult>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(client.checkAsync(ResultType.PING, "host" + i + ".example.com", 1, FAST));
+        }
+        awaitPolls(requester, 10);
+
+        client.shutdown();
+        for (CompletableFuture<ResultNode<PingResult>> future : futures) {
+            // The poll future is composed onto the submission, so the cancellation arrives wrapped
+            final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof CancellationException, "Expected a cancellation, got: " + e.getCause());
+        }
+    }
+
+    @Test
+    void shutdownNotifiesSinks() throws Exception {
+        final StubRequester requester = new StubRequester(Integer.MAX_VALUE, 0);
+        final ShardedCheckHost4J client = ShardedCheckHost4J.builder().shards(2).requester(index -> requester).build();
+        final CountDownLatch failed = new CountDownLatch(1);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        client.addSink(new IResultSink() {
+            @Override
+            public void onResult(final MonitorTarget target, final ResultNode<?> resultNode) {
+                fail("No check should finish");
+            }
+
+            @Override
+            public void onError(final MonitorTarget target, final Throwable error) {
+                errors.add(error);
+                failed.countDown();
+            }
+        });
+        client.monitor(new MonitorTarget(ResultType.PING, "example.com", 1, 50).withStrategy(FAST));
+        awaitPolls(requester, 1);
+
+        client.shutdown();
+        assertTrue(failed.await(1, TimeUnit.SECONDS), "The sink has to be told about the check in flight");
+        assertTrue(errors.get(0) instanceof CancellationException, "Expected a cancellation, got: " + errors.get(0));
+    }
+
+    private static void awaitPolls(final StubRequester requester, final int polls) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (requester.getPollCount() < polls) {
+            assertTrue(System.currentTimeMillis() < deadline, "Checks haven't been polled");
+            Thread.sleep(5);
+        }
+    }
+
+}
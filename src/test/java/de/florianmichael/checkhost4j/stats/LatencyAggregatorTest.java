@@ -0,0 +1,72 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.stats;
+
+import com.google.gson.JsonParser;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAggregatorTest {
+
+    @Test
+    void nodesByName() throws Exception {
+        final LatencyAggregator aggregator = new LatencyAggregator();
+        // Different instances of the same node, e.g. after the node cache refreshed or from different clients
+        aggregator.record(ResultType.HTTP, "example.com", node("de1.node.check-host.net"), http(0.1));
+        aggregator.record(ResultType.HTTP, "example.com", node("de1.node.check-host.net"), http(0.2));
+        aggregator.record(ResultType.HTTP, "example.com", node("de2.node.check-host.net"), http(0.3));
+
+        assertEquals(2, aggregator.getNodeCount());
+        assertEquals(2, aggregator.getByNode(node("de1.node.check-host.net")).getCount());
+        assertEquals(1, aggregator.getByNode("de2.node.check-host.net").getCount());
+        assertEquals(3, aggregator.getByTarget("example.com").getCount());
+        assertEquals(3, aggregator.getByType(ResultType.HTTP).getCount());
+    }
+
+    @Test
+    void maxKeys() throws Exception {
+        final LatencyAggregator aggregator = new LatencyAggregator(100, 2, 2);
+        final ServerNode node = node("de1.node.check-host.net");
+        for (int i = 0; i < 5; i++) {
+            aggregator.record(ResultType.HTTP, "host" + i + ".example.com", node, http(0.1));
+        }
+        assertEquals(2, aggregator.getTargetCount());
+        assertEquals(0, aggregator.getByTarget("host4.example.com").getCount());
+        assertEquals(5, aggregator.getByType(ResultType.HTTP).getCount(), "Samples beyond the cap are still recorded by type");
+
+        // Once the window passed, idle targets make room for new ones
+        Thread.sleep(250);
+        aggregator.record(ResultType.HTTP, "new.example.com", node, http(0.1));
+        assertEquals(1, aggregator.getByTarget("new.example.com").getCount());
+        assertTrue(aggregator.getTargetCount() <= 2);
+    }
+
+    private static ServerNode node(final String name) {
+        return ServerNode.of(name, JsonParser.parseString("[\"de\", \"Germany\", \"Frankfurt\", \"10.0.0.1\", \"AS1\"]").getAsJsonArray());
+    }
+
+    private static Result http(final double ping) throws Exception {
+        return ResultType.HTTP.convert(JsonParser.parseString("[1, " + ping + ", \"OK\", \"200\", \"10.0.0.1\"]"));
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of CheckHost4J - https://github.com/FlorianMichael/CheckHost4J
+ * Copyright (C) 2023-2026 FlorianMichael/EnZaXD <git@florianmichael.de> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.checkhost4j.store;
+
+import com.google.gson.JsonParser;
+import de.florianmichael.checkhost4j.model.Result;
+import de.florianmichael.checkhost4j.model.ResultType;
+import de.florianmichael.checkhost4j.model.ServerNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStoreTest {
+
+    private static final int RECORDS = 50;
+    private static final long SEGMENT_SIZE = 1024;
+
+    private static final ServerNode NODE = ServerNode.of("de1.node.check-host.net", JsonParser.parseString("[\"de\", \"Germany\", \"Frankfurt\", \"10.0.0.1\", \"AS1\"]").getAsJsonArray());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen() throws Exception {
+        final List<Result> results = fill();
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertTrue(store.getSegmentCount() > 1, "Expected multiple segments");
+            assertEquals(RECORDS, store.getRecordCount());
+            assertStored(store.query("example.com", 0, Long.MAX_VALUE), results, RECORDS);
+        }
+    }
+
+    @Test
+    void queryRange() throws Exception {
+        fill();
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            final List<StoredResult> stored = store.query("example.com", 10, 20);
+            assertEquals(10, stored.size());
+            for (int i = 0; i < stored.size(); i++) {
+                assertEquals(10 + i, stored.get(i).timestamp);
+            }
+            assertTrue(store.query("other.com", 0, Long.MAX_VALUE).isEmpty());
+        }
+    }
+
+    @Test
+    void reopenAfterTruncatedTail() throws Exception {
+        final List<Result> results = fill();
+        final Path tail = lastSegment();
+        try (RandomAccessFile file = new RandomAccessFile(tail.toFile(), "rw")) {
+            file.setLength(file.length() - 3); // Tear the last record
+        }
+        reopenWithoutLastRecord(results);
+    }
+
+    @Test
+    void reopenAfterCorruptedTail() throws Exception {
+        final List<Result> results = fill();
+        final Path tail = lastSegment();
+        try (RandomAccessFile file = new RandomAccessFile(tail.toFile(), "rw")) {
+            file.seek(file.length() - 1); // Payload of the last record, the checksum doesn't match anymore
+            final int b = file.read();
+            file.seek(file.length() - 1);
+            file.write(b ^ 0xFF);
+        }
+        reopenWithoutLastRecord(results);
+    }
+
+    @Test
+    void reopenAfterGarbageTail() throws Exception {
+        final List<Result> results = fill();
+        final Path tail = lastSegment();
+        final long size = Files.size(tail);
+        try (RandomAccessFile file = new RandomAccessFile(tail.toFile(), "rw")) {
+            file.seek(size);
+            file.write(new byte[]{0, 0, 0, 100, 1, 2}); // Header of a record which never got written
+        }
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertEquals(RECORDS, store.getRecordCount());
+            assertStored(store.query("example.com", 0, Long.MAX_VALUE), results, RECORDS);
+        }
+        assertEquals(size, Files.size(tail), "Garbage should have been truncated");
+    }
+
+    @Test
+    void reopenAfterEmptySegment() throws Exception {
+        reopenAfterTornSegmentHeader(0);
+    }
+
+    @Test
+    void reopenAfterTornSegmentHeader() throws Exception {
+        reopenAfterTornSegmentHeader(3);
+    }
+
+    /**
+     * Simulate a crash after creating the next segment but before its header has been written completely
+     */
+    private void reopenAfterTornSegmentHeader(final int headerBytes) throws Exception {
+        final List<Result> results = fill();
+        final String last = lastSegment().getFileName().toString();
+        final long id = Long.parseLong(last.substring(0, last.length() - ".log".length()));
+        Files.write(directory.resolve(String.format("%020d.log", id + 1)), Arrays.copyOf(new byte[]{0x43, 0x48, 0x34, 0x41, 1}, headerBytes));
+
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertEquals(RECORDS, store.getRecordCount());
+            store.append(RECORDS, "request", ResultType.PING, "example.com", NODE, results.get(0));
+        }
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertEquals(RECORDS + 1, store.getRecordCount());
+            assertStored(store.query("example.com", 0, RECORDS), results, RECORDS);
+            assertEquals(1, store.query("example.com", RECORDS, RECORDS + 1).size());
+        }
+    }
+
+    private void reopenWithoutLastRecord(final List<Result> results) throws Exception {
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertEquals(RECORDS - 1, store.getRecordCount());
+            assertStored(store.query("example.com", 0, Long.MAX_VALUE), results, RECORDS - 1);
+
+            // The torn record has been cut off, so appending continues with a valid log
+            store.append(RECORDS - 1, "request", ResultType.PING, "example.com", NODE, results.get(RECORDS - 1));
+        }
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            assertEquals(RECORDS, store.getRecordCount());
+            assertStored(store.query("example.com", 0, Long.MAX_VALUE), results, RECORDS);
+        }
+    }
+
+    private List<Result> fill() throws Exception {
+        final List<Result> results = new ArrayList<>();
+        try (ResultStore store = new ResultStore(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < RECORDS; i++) {
+                final Result result = ResultType.PING.convert(JsonParser.parseString("[[\"OK\", " + (i + 1) / 1000D + ", \"10.0.0." + i + "\"], [\"TIMEOUT\", 3.005]]"));
+                store.append(i, "request", ResultType.PING, "example.com", NODE, result);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    private Path lastSegment() throws IOException {
+        Path last = null;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+            for (Path file : stream) {
+                if (last == null || file.getFileName().toString().compareTo(last.getFileName().toString()) > 0) {
+                    last = file;
+                }
+            }
+        }
+        assertNotNull(last);
+        return last;
+    }
+
+    private static void assertStored(final List<StoredResult> stored, final List<Result> expected, final int count) throws IOException {
+        assertEquals(count, stored.size());
+        for (int i = 0; i < count; i++) {
+            final StoredResult result = stored.get(i);
+            assertEquals(i, result.timestamp);
+            assertEquals("request", result.requestId);
+            assertEquals(ResultType.PING, result.type);
+            assertEquals("example.com", result.target);
+            assertEquals(NODE.name, result.node.name);
+            assertArrayEquals(bytes(expected.get(i)), bytes(result.result), "Result " + i);
+        }
+    }
+
+    private static byte[] bytes(final Result result) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        result.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+}